@@ -0,0 +1,34 @@
+package dao;
+
+import model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic test data shared by the benchmarks. Uses the same generator as the memory
+ * storage ("storage.memory.seedEmployees"), so results are comparable with soak-test runs.
+ */
+final class BenchmarkData {
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates employees with IDs 1..count.
+     *
+     * @param count Number of employees.
+     * @return New employees, ordered by ID.
+     */
+    static List<Employee> employees(int count) {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Employee emp = RepositoryFactory.generateEmployee(random, i);
+            emp.setEmpId(i);
+            emp.calculateNetSalary();
+            employees.add(emp);
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,71 @@
+package dao;
+
+import model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.Money;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures formatting of CSV report rows, without disk I/O (rows go to a discarding writer).
+ * {@link EmployeeDAO#appendCsvRow} is compared with String.format, which the export used before.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvExportBenchmark {
+    @Param({"10000"})
+    public int rows;
+
+    private List<Employee> employees;
+    private final Writer out = Writer.nullWriter();
+    private final StringBuilder row = new StringBuilder(256);
+
+    @Setup
+    public void setUp() {
+        employees = BenchmarkData.employees(rows);
+    }
+
+    @Benchmark
+    public int appendCsvRow() throws IOException {
+        int chars = 0;
+        for (Employee e : employees) {
+            row.setLength(0);
+            EmployeeDAO.appendCsvRow(row, e.getEmpId(), e.getName(), e.getDesignation(), e.getBasicSalary(),
+                    e.getHra(), e.getDa(), e.getDeductions(), e.getBonus(), e.getTax()).append('\n');
+            out.append(row);
+            chars += row.length();
+        }
+        return chars;
+    }
+
+    @Benchmark
+    public int stringFormat() throws IOException {
+        int chars = 0;
+        for (Employee e : employees) {
+            String line = String.format("%d,%s,%s,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f%n",
+                    e.getEmpId(), e.getName(), e.getDesignation(), Money.toDouble(e.getBasicSalary()),
+                    Money.toDouble(e.getHra()), Money.toDouble(e.getDa()), Money.toDouble(e.getDeductions()),
+                    Money.toDouble(e.getBonus()), Money.toDouble(e.getTax()), Money.toDouble(e.getNetSalary()));
+            out.write(line);
+            chars += line.length();
+        }
+        return chars;
+    }
+}
@@ -0,0 +1,70 @@
+package dao;
+
+import model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures case-insensitive substring search over employee names with the trigram
+ * {@link NameIndex}, against a linear scan (what "name LIKE '%term%'" does).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameSearchBenchmark {
+    @Param({"100000"})
+    public int rows;
+
+    /** A selective term (one employee) and a common one (a frequent surname). */
+    @Param({"42424", "sharma"})
+    public String term;
+
+    private final NameIndex index = new NameIndex();
+    private final List<String> names = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        Map<Integer, String> byId = new HashMap<>();
+        for (Employee emp : BenchmarkData.employees(rows)) {
+            byId.put(emp.getEmpId(), emp.getName());
+            names.add(emp.getName().toLowerCase(Locale.ROOT));
+        }
+        index.rebuild(byId);
+    }
+
+    @Benchmark
+    public List<Integer> trigramIndex() {
+        return index.search(term, EmployeeRepository.DEFAULT_SEARCH_LIMIT);
+    }
+
+    @Benchmark
+    public List<Integer> linearScan() {
+        String needle = term.toLowerCase(Locale.ROOT);
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < names.size() && matches.size() < EmployeeRepository.DEFAULT_SEARCH_LIMIT; i++) {
+            if (names.get(i).contains(needle)) {
+                matches.add(i + 1);
+            }
+        }
+        return matches;
+    }
+}
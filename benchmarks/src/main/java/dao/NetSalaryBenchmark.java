@@ -0,0 +1,56 @@
+package dao;
+
+import model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Employee#calculateNetSalary()}, once per call and over a 10k-employee list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetSalaryBenchmark {
+    private List<Employee> employees;
+    private Employee employee;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        employees = BenchmarkData.employees(10_000);
+        employee = employees.get(0);
+    }
+
+    @Benchmark
+    public long single() {
+        // Vary the input so the result cannot be constant-folded.
+        employee.setBonus(next++ & 1023);
+        employee.calculateNetSalary();
+        return employee.getNetSalary();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long list10k() {
+        long total = 0;
+        for (Employee emp : employees) {
+            emp.calculateNetSalary();
+            total += emp.getNetSalary();
+        }
+        return total;
+    }
+}
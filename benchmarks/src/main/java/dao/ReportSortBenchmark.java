@@ -0,0 +1,85 @@
+package dao;
+
+import model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.TopN;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ordering employees for the salary report (net salary descending, then ID):
+ * sorting the whole roster, versus reading the first page and the page after the middle of
+ * the report from {@link InMemoryEmployeeRepository}, which keeps employees in report order.
+ * The top 50 earners are selected by sorting everything and by streaming the roster through
+ * a bounded heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReportSortBenchmark {
+    private static final int TOP_N = 50;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private List<Employee> employees;
+    private InMemoryEmployeeRepository repository;
+    private Employee middle;
+
+    @Setup
+    public void setUp() {
+        employees = BenchmarkData.employees(rows);
+        repository = new InMemoryEmployeeRepository();
+        repository.addEmployees(BenchmarkData.employees(rows));
+
+        List<Employee> sorted = new ArrayList<>(employees);
+        sorted.sort(EmployeeRepository.HIGHEST_PAID_FIRST);
+        middle = sorted.get(rows / 2);
+    }
+
+    @Benchmark
+    public List<Employee> sortAll() {
+        List<Employee> sorted = new ArrayList<>(employees);
+        sorted.sort(EmployeeRepository.HIGHEST_PAID_FIRST);
+        return sorted;
+    }
+
+    @Benchmark
+    public List<Employee> topFiftyBySort() {
+        return sortAll().subList(0, Math.min(TOP_N, rows));
+    }
+
+    @Benchmark
+    public List<Employee> topFiftyByBoundedHeap() {
+        TopN<Employee> top = new TopN<>(TOP_N, EmployeeRepository.HIGHEST_PAID_FIRST);
+        for (Employee emp : employees) {
+            top.offer(emp);
+        }
+        return top.toSortedList();
+    }
+
+    @Benchmark
+    public List<Employee> firstPage() {
+        return repository.getReportPage(EmployeeRepository.REPORT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Employee> middlePage() {
+        return repository.getReportPage(middle.getNetSalary(), middle.getEmpId(), EmployeeRepository.REPORT_PAGE_SIZE);
+    }
+}
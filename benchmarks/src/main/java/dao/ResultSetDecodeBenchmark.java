@@ -0,0 +1,107 @@
+package dao;
+
+import model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import util.DBConnection;
+import util.Money;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link EmployeeDAO#extractEmployeeFromResultSet} on a result set from an embedded,
+ * in-memory H2 database, so no MySQL server is needed.
+ * The result set is scrollable and rewound before each invocation, which keeps query execution
+ * out of the measurement. Decoding by column name (the DAO's former approach) is the baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultSetDecodeBenchmark {
+    @Param({"1000"})
+    public int rows;
+
+    private final EmployeeDAO dao = new EmployeeDAO();
+    private Connection con;
+    private ResultSet rs;
+
+    @Setup
+    public void setUp() throws SQLException {
+        con = DriverManager.getConnection("jdbc:h2:mem:decode;MODE=MySQL", "sa", "");
+        try (Statement stmt = con.createStatement()) {
+            stmt.execute("CREATE TABLE employee (emp_id INT PRIMARY KEY, name VARCHAR(50) NOT NULL, "
+                    + "designation VARCHAR(50) NOT NULL, basic_salary DECIMAL(15,2) NOT NULL, "
+                    + "hra DECIMAL(15,2) NOT NULL, da DECIMAL(15,2) NOT NULL, deductions DECIMAL(15,2) NOT NULL, "
+                    + "bonus DECIMAL(15,2) DEFAULT 0, tax DECIMAL(15,2) DEFAULT 0)");
+        }
+        List<Employee> employees = BenchmarkData.employees(rows);
+        try (PreparedStatement stmt = con.prepareStatement("INSERT INTO employee VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (Employee emp : employees) {
+                stmt.setInt(1, emp.getEmpId());
+                stmt.setString(2, emp.getName());
+                stmt.setString(3, emp.getDesignation());
+                stmt.setBigDecimal(4, Money.toDecimal(emp.getBasicSalary()));
+                stmt.setBigDecimal(5, Money.toDecimal(emp.getHra()));
+                stmt.setBigDecimal(6, Money.toDecimal(emp.getDa()));
+                stmt.setBigDecimal(7, Money.toDecimal(emp.getDeductions()));
+                stmt.setBigDecimal(8, Money.toDecimal(emp.getBonus()));
+                stmt.setBigDecimal(9, Money.toDecimal(emp.getTax()));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        Statement query = con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        // The DAO's column list, with aliases so the by-name baseline can address the converted columns.
+        rs = query.executeQuery("SELECT emp_id, name, designation, "
+                + DBConnection.minorUnits("basic_salary") + " AS basic_salary, " + DBConnection.minorUnits("hra") + " AS hra, "
+                + DBConnection.minorUnits("da") + " AS da, " + DBConnection.minorUnits("deductions") + " AS deductions, "
+                + DBConnection.minorUnits("bonus") + " AS bonus, " + DBConnection.minorUnits("tax") + " AS tax FROM employee");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        con.close();
+    }
+
+    @Benchmark
+    public void byIndex(Blackhole bh) throws SQLException {
+        rs.beforeFirst();
+        while (rs.next()) {
+            bh.consume(dao.extractEmployeeFromResultSet(rs));
+        }
+    }
+
+    @Benchmark
+    public void byName(Blackhole bh) throws SQLException {
+        rs.beforeFirst();
+        while (rs.next()) {
+            Employee emp = new Employee(rs.getInt("emp_id"), rs.getString("name"), rs.getString("designation"),
+                    rs.getLong("basic_salary"), rs.getLong("hra"), rs.getLong("da"), rs.getLong("deductions"));
+            emp.setBonus(rs.getLong("bonus"));
+            emp.setTax(rs.getLong("tax"));
+            emp.calculateNetSalary();
+            bh.consume(emp);
+        }
+    }
+}
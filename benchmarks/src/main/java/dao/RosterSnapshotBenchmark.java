@@ -0,0 +1,80 @@
+package dao;
+
+import model.Employee;
+import model.RosterSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link RosterSnapshot} aggregation kernels over 100k and 1M employees: the total,
+ * maximum and per-designation totals of net salary and the headcount per designation. The
+ * per-designation total is also computed by walking Employee objects, the way the report code
+ * did before the snapshot existed, for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RosterSnapshotBenchmark {
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private List<Employee> employees;
+    private RosterSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        employees = BenchmarkData.employees(rows);
+        RosterSnapshot.Builder builder = new RosterSnapshot.Builder(rows);
+        for (Employee emp : employees) {
+            builder.add(emp.getEmpId(), emp.getDesignation(), emp.getBasicSalary(), emp.getHra(), emp.getDa(),
+                    emp.getDeductions(), emp.getBonus(), emp.getTax());
+        }
+        snapshot = builder.build();
+    }
+
+    @Benchmark
+    public long sumNetSalary() {
+        return snapshot.sum(RosterSnapshot.Column.NET_SALARY);
+    }
+
+    @Benchmark
+    public long maxNetSalary() {
+        return snapshot.max(RosterSnapshot.Column.NET_SALARY);
+    }
+
+    @Benchmark
+    public Map<String, Integer> countByDesignation() {
+        return snapshot.countByDesignation();
+    }
+
+    @Benchmark
+    public Map<String, Long> sumNetSalaryByDesignation() {
+        return snapshot.sumByDesignation(RosterSnapshot.Column.NET_SALARY);
+    }
+
+    @Benchmark
+    public Map<String, Long> sumNetSalaryByDesignationOverEmployees() {
+        Map<String, Long> sums = new HashMap<>();
+        for (Employee emp : employees) {
+            sums.merge(emp.getDesignation(), emp.getNetSalary(), Long::sum);
+        }
+        return sums;
+    }
+}
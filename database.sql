@@ -4,6 +4,9 @@ CREATE DATABASE IF NOT EXISTS payroll_db;
 -- Switch to the database
 USE payroll_db;
 
+-- Later schema changes (indexes, exact money columns, ...) live in src/db/migration
+-- and are applied automatically when the application starts.
+
 -- Create employee table
 CREATE TABLE IF NOT EXISTS employee (
     emp_id INT AUTO_INCREMENT PRIMARY KEY,
@@ -15,7 +18,10 @@ CREATE TABLE IF NOT EXISTS employee (
     deductions DOUBLE NOT NULL,
     bonus DOUBLE DEFAULT 0,
     tax DOUBLE DEFAULT 0,
+    -- Derived by the database, matching Employee.calculateNetSalary(), so the value the salary
+    -- report pages on is always the one the application computes.
     net_salary DOUBLE
+        GENERATED ALWAYS AS ((basic_salary + hra + da + COALESCE(bonus, 0)) - (deductions + COALESCE(tax, 0))) STORED
 );
 
 -- Create users table
@@ -29,10 +35,11 @@ CREATE TABLE IF NOT EXISTS users (
 );
 
 -- Insert a sample employee (emp_id = 1)
-INSERT INTO employee (name, designation, basic_salary, hra, da, deductions, bonus, tax, net_salary)
-VALUES ('John Doe', 'Software Engineer', 30000, 5000, 4000, 2000, 3000, 1000, 40000);
+INSERT INTO employee (name, designation, basic_salary, hra, da, deductions, bonus, tax)
+VALUES ('John Doe', 'Software Engineer', 30000, 5000, 4000, 2000, 3000, 1000);
 
 -- Insert sample users (Admin + Employee linked to emp_id = 1)
+-- The plaintext passwords are replaced by PBKDF2 hashes at each user's first login.
 INSERT INTO users (username, password, role, employee_id)
 VALUES 
 ('admin', 'admin123', 'admin', NULL),
@@ -0,0 +1,222 @@
+package dao;
+
+import model.DesignationSummary;
+import model.Employee;
+import model.EmployeeSummary;
+import model.RosterSnapshot;
+import util.TaskExecutors;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Asynchronous facade over an {@link EmployeeRepository}. Every method returns a
+ * CompletableFuture instead of blocking, so callers can issue hundreds of lookups at once
+ * without managing threads.
+ *
+ * At most maxConcurrency calls use the repository at the same time. For the MySQL storage this
+ * matches the connection pool size, so a large fan-out queues here instead of timing out in the
+ * pool. On the project's Java 17 target the calls run on a fixed pool of maxConcurrency platform
+ * threads (see {@link TaskExecutors}): each running call blocks one of them for its whole
+ * database round trip, and further calls wait in the executor's queue, without a thread, until
+ * one is free. Only on a JDK 21+ runtime does each call get its own virtual thread, with the
+ * extra calls parked on the permits instead.
+ *
+ * Cancelling a future, or letting it time out, interrupts its call if it is still waiting
+ * for a permit. A call that has already started is left to finish and its result is discarded.
+ * Like the repository, the calls report database errors on stderr and return empty
+ * results; futures complete exceptionally only on timeout, cancellation or unexpected errors.
+ */
+public class AsyncEmployeeRepository implements AutoCloseable {
+    private final EmployeeRepository repository;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final long timeoutMillis;
+
+    /**
+     * Creates a facade with its own executor.
+     *
+     * @param repository     Repository that executes the calls.
+     * @param maxConcurrency Maximum number of calls running at once.
+     * @param timeoutMillis  Time after which a call's future fails with a TimeoutException
+     *                       (0 for no timeout). Measured from submission, including waiting time.
+     */
+    public AsyncEmployeeRepository(EmployeeRepository repository, int maxConcurrency, long timeoutMillis) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+        }
+        this.repository = repository;
+        this.maxConcurrency = maxConcurrency;
+        this.timeoutMillis = timeoutMillis;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.executor = TaskExecutors.newTaskExecutor("employee-async", maxConcurrency);
+    }
+
+    /** @see EmployeeRepository#getEmployeeById(int) */
+    public CompletableFuture<Employee> getEmployeeByIdAsync(int empId) {
+        return submit(r -> r.getEmployeeById(empId));
+    }
+
+    /**
+     * Loads many employees with a single query per 512 IDs; cheaper than one
+     * getEmployeeByIdAsync call per employee when the IDs are known up front.
+     *
+     * @see EmployeeRepository#getEmployeesByIds(List)
+     */
+    public CompletableFuture<List<Employee>> getEmployeesByIdsAsync(List<Integer> ids) {
+        return submit(r -> r.getEmployeesByIds(ids));
+    }
+
+    /** @see EmployeeRepository#getEmployeesByName(String, int) */
+    public CompletableFuture<List<Employee>> getEmployeesByNameAsync(String name, int limit) {
+        return submit(r -> r.getEmployeesByName(name, limit));
+    }
+
+    /** @see EmployeeRepository#getEmployeeSummariesByName(String) */
+    public CompletableFuture<List<EmployeeSummary>> getEmployeeSummariesByNameAsync(String name) {
+        return submit(r -> r.getEmployeeSummariesByName(name));
+    }
+
+    /** @see EmployeeRepository#getAllEmployees() */
+    public CompletableFuture<List<Employee>> getAllEmployeesAsync() {
+        return submit(EmployeeRepository::getAllEmployees);
+    }
+
+    /** @see EmployeeRepository#getAllEmployeeSummaries() */
+    public CompletableFuture<List<EmployeeSummary>> getAllEmployeeSummariesAsync() {
+        return submit(EmployeeRepository::getAllEmployeeSummaries);
+    }
+
+    /** @see EmployeeRepository#getFilteredEmployees(String, long, long) */
+    public CompletableFuture<List<Employee>> getFilteredEmployeesAsync(String designation, long minSalary, long maxSalary) {
+        return submit(r -> r.getFilteredEmployees(designation, minSalary, maxSalary));
+    }
+
+    /** @see EmployeeRepository#getReportPage(int) */
+    public CompletableFuture<List<Employee>> getReportPageAsync(int pageSize) {
+        return submit(r -> r.getReportPage(pageSize));
+    }
+
+    /** @see EmployeeRepository#getReportPage(long, int, int) */
+    public CompletableFuture<List<Employee>> getReportPageAsync(long afterNetSalary, int afterEmpId, int pageSize) {
+        return submit(r -> r.getReportPage(afterNetSalary, afterEmpId, pageSize));
+    }
+
+    /** @see EmployeeRepository#getDesignationSummaries() */
+    public CompletableFuture<List<DesignationSummary>> getDesignationSummariesAsync() {
+        return submit(EmployeeRepository::getDesignationSummaries);
+    }
+
+    /** @see EmployeeRepository#loadRosterSnapshot() */
+    public CompletableFuture<RosterSnapshot> loadRosterSnapshotAsync() {
+        return submit(EmployeeRepository::loadRosterSnapshot);
+    }
+
+    /**
+     * Adds an employee. The future completes with the same object, carrying its generated ID.
+     *
+     * @see EmployeeRepository#addEmployee(Employee)
+     */
+    public CompletableFuture<Employee> addEmployeeAsync(Employee emp) {
+        return submit(r -> {
+            r.addEmployee(emp);
+            return emp;
+        });
+    }
+
+    /** @see EmployeeRepository#addEmployees(Collection) */
+    public CompletableFuture<List<Integer>> addEmployeesAsync(Collection<Employee> employees) {
+        return submit(r -> r.addEmployees(employees));
+    }
+
+    /** @see EmployeeRepository#updateEmployee(int, Employee) */
+    public CompletableFuture<Void> updateEmployeeAsync(int empId, Employee emp) {
+        return submit(r -> {
+            r.updateEmployee(empId, emp);
+            return null;
+        });
+    }
+
+    /** @see EmployeeRepository#deleteEmployee(int) */
+    public CompletableFuture<Boolean> deleteEmployeeAsync(int empId) {
+        return submit(r -> r.deleteEmployee(empId));
+    }
+
+    /** @see EmployeeRepository#exportReportToCSV(String) */
+    public CompletableFuture<Integer> exportReportToCSVAsync(String fileName) {
+        return submit(r -> r.exportReportToCSV(fileName));
+    }
+
+    /**
+     * Runs any repository operation asynchronously, under the same concurrency limit and timeout.
+     *
+     * @param call Operation to run.
+     * @return Future completed with the operation's result.
+     */
+    public <T> CompletableFuture<T> submit(Function<EmployeeRepository, T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // Set once by whichever comes first: the call taking its permit, or cancellation.
+        AtomicBoolean started = new AtomicBoolean();
+        Future<?> task = executor.submit(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                result.cancel(false);
+                return;
+            }
+            try {
+                if (started.compareAndSet(false, true) && !result.isDone()) {
+                    result.complete(call.apply(repository));
+                }
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            } finally {
+                permits.release();
+            }
+        });
+        if (timeoutMillis > 0) {
+            result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        // Cancellation or timeout completes the future first. A call still waiting for a permit is
+        // interrupted; a running one is never interrupted, so no JDBC call is cut off part way.
+        result.whenComplete((value, error) -> {
+            if ((error instanceof CancellationException || error instanceof TimeoutException) && !task.isDone()) {
+                task.cancel(started.compareAndSet(false, true));
+            }
+        });
+        return result;
+    }
+
+    /** @return Maximum number of calls that use the repository at the same time. */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /** @return Number of calls currently using the repository. */
+    public int getActiveCalls() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /** @return Approximate number of calls waiting for a permit. */
+    public int getQueuedCalls() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Stops accepting calls. Calls already submitted still run.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
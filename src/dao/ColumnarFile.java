@@ -0,0 +1,636 @@
+package dao;
+
+import model.Employee;
+import model.RosterSnapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Column-oriented export of the employee table: a compact alternative to the CSV report for
+ * downstream systems, with a reader that loads it back column by column instead of parsing text.
+ *
+ * The file holds a 64-byte header, the employees in ID order in blocks of up to
+ * {@value #BLOCK_ROWS} rows, and a footer with the block index and the designation dictionary.
+ * Within a block every column is one chunk (an encoding byte, the payload length and the payload):
+ * <pre>
+ *   emp_id               delta-encoded varints
+ *   name                 length-prefixed UTF-8
+ *   designation          varint codes into the dictionary in the footer
+ *   basic_salary .. tax  delta or dictionary encoding, whichever is smaller for the block
+ * </pre>
+ * Amounts are minor units (see {@link util.Money}); net salary is not stored but recomputed.
+ * The block index holds the row count, the ID range and the min/max of every salary column,
+ * net salary included, of each block, so a reader filtering on a column skips the blocks that
+ * cannot match without decoding them.
+ *
+ * Instances are immutable and safe to share between threads.
+ */
+public final class ColumnarFile {
+    /** Maximum number of rows per block. */
+    static final int BLOCK_ROWS = 65_536;
+
+    private static final int MAGIC = 0x50434F4C; // "PCOL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    /** Number of stored salary columns: every Column except NET_SALARY. */
+    private static final int AMOUNT_COLUMNS = RosterSnapshot.Column.NET_SALARY.ordinal();
+    private static final int NET = RosterSnapshot.Column.NET_SALARY.ordinal();
+
+    private static final byte ENCODING_PLAIN = 0;
+    private static final byte ENCODING_DELTA = 1;
+    private static final byte ENCODING_DICTIONARY = 2;
+    /** Largest dictionary of a salary column; codes are stored in one byte. */
+    private static final int MAX_DICTIONARY_SIZE = 256;
+
+    private final MappedByteBuffer data;
+    private final int size;
+    private final long createdAtMillis;
+    private final long[] blockOffsets;
+    private final int[] blockRows;
+    private final int[] firstEmpIds;
+    private final int[] lastEmpIds;
+    /** Per-block statistics, indexed by Column ordinal and then block. */
+    private final long[][] mins;
+    private final long[][] maxs;
+    private final String[] designations;
+
+    private ColumnarFile(MappedByteBuffer data) throws IOException {
+        this.data = data;
+        if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("Not a columnar export file");
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IOException("Unsupported columnar export version " + data.getInt(4));
+        }
+        if (data.getLong(32) != data.capacity()) {
+            throw new IOException("Columnar export file is truncated");
+        }
+        this.size = data.getInt(8);
+        int blocks = data.getInt(12);
+        this.createdAtMillis = data.getLong(16);
+
+        ByteBuffer footer = data.duplicate().order(ByteOrder.LITTLE_ENDIAN).position((int) data.getLong(24));
+        int columns = RosterSnapshot.Column.values().length;
+        blockOffsets = new long[blocks];
+        blockRows = new int[blocks];
+        firstEmpIds = new int[blocks];
+        lastEmpIds = new int[blocks];
+        mins = new long[columns][blocks];
+        maxs = new long[columns][blocks];
+        // Block index entries: offset, rows, first and last ID, reserved, then min and max of every Column.
+        for (int b = 0; b < blocks; b++) {
+            blockOffsets[b] = footer.getLong();
+            blockRows[b] = footer.getInt();
+            firstEmpIds[b] = footer.getInt();
+            lastEmpIds[b] = footer.getInt();
+            footer.getInt();
+            for (int c = 0; c < columns; c++) {
+                mins[c][b] = footer.getLong();
+                maxs[c][b] = footer.getLong();
+            }
+        }
+        designations = new String[footer.getInt()];
+        for (int code = 0; code < designations.length; code++) {
+            byte[] bytes = new byte[footer.getInt()];
+            footer.get(bytes);
+            designations[code] = new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Maps a file written by {@link #write(EmployeeRepository, Path)} and reads its footer.
+     *
+     * @param file The columnar export file.
+     * @return The opened file.
+     * @throws IOException If the file cannot be read or is not a valid columnar export.
+     */
+    public static ColumnarFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Columnar export file is larger than 2 GB");
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            data.order(ByteOrder.LITTLE_ENDIAN);
+            return new ColumnarFile(data);
+        }
+    }
+
+    /**
+     * Writes all employees of a repository to a columnar export file.
+     * Employees are streamed and only the current block is held in memory. The file is written
+     * under a temporary name and then renamed, so readers never see a partial file.
+     *
+     * @param source Repository to read; employees must arrive in ID order.
+     * @param file   The file to create or replace.
+     * @return Number of employees written.
+     * @throws IOException If the employees cannot be read or the file cannot be written.
+     */
+    public static int write(EmployeeRepository source, Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        int count;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            ColumnWriter writer = new ColumnWriter(channel);
+            if (source.forEachEmployee(writer::add) < 0) {
+                throw new IOException("Employees could not be read");
+            }
+            count = writer.finish();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /** @return Number of employees in the file. */
+    public int size() {
+        return size;
+    }
+
+    /** @return Time the file was written, in milliseconds since the epoch. */
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    /** @return Number of blocks in the file. */
+    public int getBlockCount() {
+        return blockOffsets.length;
+    }
+
+    /** @return Number of employees in the given block. */
+    public int getBlockRows(int block) {
+        return blockRows[block];
+    }
+
+    /** @return ID of the first employee in the given block. */
+    public int getBlockFirstEmpId(int block) {
+        return firstEmpIds[block];
+    }
+
+    /** @return ID of the last employee in the given block. */
+    public int getBlockLastEmpId(int block) {
+        return lastEmpIds[block];
+    }
+
+    /** @return Smallest value of a salary column in the given block, in minor units. */
+    public long getBlockMin(RosterSnapshot.Column column, int block) {
+        return mins[column.ordinal()][block];
+    }
+
+    /** @return Largest value of a salary column in the given block, in minor units. */
+    public long getBlockMax(RosterSnapshot.Column column, int block) {
+        return maxs[column.ordinal()][block];
+    }
+
+    /**
+     * Loads every employee into a column-oriented snapshot for aggregation.
+     *
+     * @return The snapshot, in ID order.
+     */
+    public RosterSnapshot loadRosterSnapshot() {
+        return loadRosterSnapshot(RosterSnapshot.Column.NET_SALARY, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Loads the employees whose value of a salary column lies in a range. Blocks whose statistics
+     * lie outside the range are skipped without being decoded, and names are never decoded.
+     *
+     * @param column The column to filter on.
+     * @param min    Smallest value to include, in minor units.
+     * @param max    Largest value to include, in minor units.
+     * @return The snapshot of the matching employees, in ID order.
+     */
+    public RosterSnapshot loadRosterSnapshot(RosterSnapshot.Column column, long min, long max) {
+        RosterSnapshot.Builder builder = new RosterSnapshot.Builder(0);
+        Block block = new Block();
+        int c = column.ordinal();
+        for (int b = 0; b < blockOffsets.length; b++) {
+            if (maxs[c][b] < min || mins[c][b] > max) {
+                continue;
+            }
+            decode(b, block, false);
+            int rows = blockRows[b];
+            if (mins[c][b] < min || maxs[c][b] > max) {
+                rows = block.retain(rows, c, min, max);
+            }
+            builder.addColumns(rows, block.empIds, designations, block.designationCodes, block.amounts);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Passes every employee to the action in ID order, decoding one block at a time.
+     *
+     * @param action Receives each employee as a new object.
+     * @return Number of employees read.
+     */
+    public int forEachEmployee(Consumer<? super Employee> action) {
+        Block block = new Block();
+        for (int b = 0; b < blockOffsets.length; b++) {
+            decode(b, block, true);
+            for (int i = 0; i < blockRows[b]; i++) {
+                Employee emp = new Employee(block.empIds[i], block.names[i], designations[block.designationCodes[i]],
+                        block.amounts[RosterSnapshot.Column.BASIC_SALARY.ordinal()][i],
+                        block.amounts[RosterSnapshot.Column.HRA.ordinal()][i],
+                        block.amounts[RosterSnapshot.Column.DA.ordinal()][i],
+                        block.amounts[RosterSnapshot.Column.DEDUCTIONS.ordinal()][i]);
+                emp.setBonus(block.amounts[RosterSnapshot.Column.BONUS.ordinal()][i]);
+                emp.setTax(block.amounts[RosterSnapshot.Column.TAX.ordinal()][i]);
+                emp.calculateNetSalary();
+                action.accept(emp);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Decodes the chunks of one block into the arrays of the given holder.
+     */
+    private void decode(int b, Block block, boolean withNames) {
+        ByteBuffer in = data.duplicate().order(ByteOrder.LITTLE_ENDIAN).position((int) blockOffsets[b]);
+        int rows = blockRows[b];
+
+        in.get();
+        in.getInt();
+        long id = 0;
+        for (int i = 0; i < rows; i++) {
+            id += unzigzag(readVarLong(in));
+            block.empIds[i] = (int) id;
+        }
+
+        in.get();
+        int namesLength = in.getInt();
+        if (withNames) {
+            for (int i = 0; i < rows; i++) {
+                byte[] bytes = new byte[(int) readVarLong(in)];
+                in.get(bytes);
+                block.names[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        } else {
+            in.position(in.position() + namesLength);
+        }
+
+        in.get();
+        in.getInt();
+        for (int i = 0; i < rows; i++) {
+            block.designationCodes[i] = (int) readVarLong(in);
+        }
+
+        for (int c = 0; c < AMOUNT_COLUMNS; c++) {
+            byte encoding = in.get();
+            in.getInt();
+            long[] values = block.amounts[c];
+            if (encoding == ENCODING_DICTIONARY) {
+                long[] dictionary = new long[(int) readVarLong(in)];
+                long value = 0;
+                for (int d = 0; d < dictionary.length; d++) {
+                    value += unzigzag(readVarLong(in));
+                    dictionary[d] = value;
+                }
+                for (int i = 0; i < rows; i++) {
+                    values[i] = dictionary[in.get() & 0xFF];
+                }
+            } else {
+                long value = 0;
+                for (int i = 0; i < rows; i++) {
+                    value += unzigzag(readVarLong(in));
+                    values[i] = value;
+                }
+            }
+        }
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return result;
+    }
+
+    private static long unzigzag(long n) {
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    /**
+     * Reusable arrays holding the decoded columns of one block.
+     */
+    private static final class Block {
+        private final int[] empIds = new int[BLOCK_ROWS];
+        private final String[] names = new String[BLOCK_ROWS];
+        private final int[] designationCodes = new int[BLOCK_ROWS];
+        private final long[][] amounts = new long[AMOUNT_COLUMNS][BLOCK_ROWS];
+
+        /**
+         * Moves the rows whose value of a column lies in the range to the front of the arrays.
+         *
+         * @return Number of rows kept.
+         */
+        int retain(int rows, int column, long min, long max) {
+            int kept = 0;
+            for (int i = 0; i < rows; i++) {
+                long value = column == NET ? net(i) : amounts[column][i];
+                if (value < min || value > max) {
+                    continue;
+                }
+                empIds[kept] = empIds[i];
+                designationCodes[kept] = designationCodes[i];
+                for (long[] values : amounts) {
+                    values[kept] = values[i];
+                }
+                kept++;
+            }
+            return kept;
+        }
+
+        private long net(int i) {
+            return (amounts[RosterSnapshot.Column.BASIC_SALARY.ordinal()][i] + amounts[RosterSnapshot.Column.HRA.ordinal()][i]
+                    + amounts[RosterSnapshot.Column.DA.ordinal()][i] + amounts[RosterSnapshot.Column.BONUS.ordinal()][i])
+                    - (amounts[RosterSnapshot.Column.DEDUCTIONS.ordinal()][i] + amounts[RosterSnapshot.Column.TAX.ordinal()][i]);
+        }
+    }
+
+    /**
+     * Growable little-endian byte buffer used to encode chunks before they are written.
+     */
+    private static final class ByteSink {
+        private byte[] bytes = new byte[1 << 16];
+        private int length;
+
+        void reset() {
+            length = 0;
+        }
+
+        ByteSink put(byte b) {
+            ensureRoom(1);
+            bytes[length++] = b;
+            return this;
+        }
+
+        ByteSink putInt(int v) {
+            ensureRoom(Integer.BYTES);
+            for (int i = 0; i < Integer.BYTES; i++) {
+                bytes[length++] = (byte) (v >>> (8 * i));
+            }
+            return this;
+        }
+
+        ByteSink putLong(long v) {
+            ensureRoom(Long.BYTES);
+            for (int i = 0; i < Long.BYTES; i++) {
+                bytes[length++] = (byte) (v >>> (8 * i));
+            }
+            return this;
+        }
+
+        ByteSink putVarLong(long v) {
+            ensureRoom(10);
+            while ((v & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            bytes[length++] = (byte) v;
+            return this;
+        }
+
+        ByteSink putZigZag(long v) {
+            return putVarLong((v << 1) ^ (v >> 63));
+        }
+
+        ByteSink put(byte[] b, int offset, int count) {
+            ensureRoom(count);
+            System.arraycopy(b, offset, bytes, length, count);
+            length += count;
+            return this;
+        }
+
+        /** Appends a column chunk: the encoding, the payload length and the payload. */
+        ByteSink putChunk(byte encoding, ByteSink payload) {
+            return put(encoding).putInt(payload.length).put(payload.bytes, 0, payload.length);
+        }
+
+        ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(bytes, 0, length);
+        }
+
+        private void ensureRoom(int count) {
+            if (length + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + count));
+            }
+        }
+    }
+
+    /**
+     * Collects employees into a block, encodes it when full and writes the footer and header at the end.
+     */
+    private static class ColumnWriter {
+        private final FileChannel channel;
+        private final int[] empIds = new int[BLOCK_ROWS];
+        private final String[] names = new String[BLOCK_ROWS];
+        private final int[] designationCodes = new int[BLOCK_ROWS];
+        private final long[][] amounts = new long[AMOUNT_COLUMNS][BLOCK_ROWS];
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> designations = new ArrayList<>();
+        private final ByteSink block = new ByteSink();
+        private final ByteSink chunk = new ByteSink();
+        private final ByteSink alternative = new ByteSink();
+        private final ByteSink index = new ByteSink();
+        private int rows;
+        private int blocks;
+        private int count;
+        private int lastEmpId = Integer.MIN_VALUE;
+        private long position = HEADER_SIZE;
+
+        ColumnWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void add(Employee emp) {
+            if (emp.getEmpId() <= lastEmpId) {
+                throw new IllegalStateException("Employees must be written in ID order");
+            }
+            lastEmpId = emp.getEmpId();
+            empIds[rows] = emp.getEmpId();
+            names[rows] = emp.getName();
+            designationCodes[rows] = dictionary.computeIfAbsent(emp.getDesignation(), key -> {
+                designations.add(key);
+                return designations.size() - 1;
+            });
+            amounts[RosterSnapshot.Column.BASIC_SALARY.ordinal()][rows] = emp.getBasicSalary();
+            amounts[RosterSnapshot.Column.HRA.ordinal()][rows] = emp.getHra();
+            amounts[RosterSnapshot.Column.DA.ordinal()][rows] = emp.getDa();
+            amounts[RosterSnapshot.Column.DEDUCTIONS.ordinal()][rows] = emp.getDeductions();
+            amounts[RosterSnapshot.Column.BONUS.ordinal()][rows] = emp.getBonus();
+            amounts[RosterSnapshot.Column.TAX.ordinal()][rows] = emp.getTax();
+            rows++;
+            count++;
+            if (rows == BLOCK_ROWS) {
+                try {
+                    writeBlock();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Error writing columnar export: " + e.getMessage(), e);
+                }
+            }
+        }
+
+        /**
+         * @return Number of employees written.
+         */
+        int finish() throws IOException {
+            writeBlock();
+            long footerOffset = position;
+            index.putInt(designations.size());
+            for (String designation : designations) {
+                byte[] bytes = designation.getBytes(StandardCharsets.UTF_8);
+                index.putInt(bytes.length).put(bytes, 0, bytes.length);
+            }
+            write(index);
+            if (position > Integer.MAX_VALUE) {
+                throw new IOException("Columnar export would be larger than 2 GB");
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(blocks)
+                    .putLong(System.currentTimeMillis())
+                    .putLong(footerOffset)
+                    .putLong(position)
+                    .flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(false);
+            return count;
+        }
+
+        /**
+         * Encodes the collected rows as one block, writes it and adds its entry to the block index.
+         */
+        private void writeBlock() throws IOException {
+            if (rows == 0) {
+                return;
+            }
+            block.reset();
+
+            chunk.reset();
+            long previous = 0;
+            for (int i = 0; i < rows; i++) {
+                chunk.putZigZag(empIds[i] - previous);
+                previous = empIds[i];
+            }
+            block.putChunk(ENCODING_DELTA, chunk);
+
+            chunk.reset();
+            for (int i = 0; i < rows; i++) {
+                byte[] bytes = names[i].getBytes(StandardCharsets.UTF_8);
+                chunk.putVarLong(bytes.length).put(bytes, 0, bytes.length);
+            }
+            block.putChunk(ENCODING_PLAIN, chunk);
+
+            chunk.reset();
+            for (int i = 0; i < rows; i++) {
+                chunk.putVarLong(designationCodes[i]);
+            }
+            block.putChunk(ENCODING_DICTIONARY, chunk);
+
+            int columns = RosterSnapshot.Column.values().length;
+            long[] min = new long[columns];
+            long[] max = new long[columns];
+            Arrays.fill(min, Long.MAX_VALUE);
+            Arrays.fill(max, Long.MIN_VALUE);
+            for (int c = 0; c < AMOUNT_COLUMNS; c++) {
+                writeAmounts(amounts[c], min, max, c);
+            }
+            long[] basic = amounts[RosterSnapshot.Column.BASIC_SALARY.ordinal()];
+            long[] hra = amounts[RosterSnapshot.Column.HRA.ordinal()];
+            long[] da = amounts[RosterSnapshot.Column.DA.ordinal()];
+            long[] deductions = amounts[RosterSnapshot.Column.DEDUCTIONS.ordinal()];
+            long[] bonus = amounts[RosterSnapshot.Column.BONUS.ordinal()];
+            long[] tax = amounts[RosterSnapshot.Column.TAX.ordinal()];
+            for (int i = 0; i < rows; i++) {
+                long net = (basic[i] + hra[i] + da[i] + bonus[i]) - (deductions[i] + tax[i]);
+                min[NET] = Math.min(min[NET], net);
+                max[NET] = Math.max(max[NET], net);
+            }
+
+            index.putLong(position).putInt(rows).putInt(empIds[0]).putInt(empIds[rows - 1]).putInt(0);
+            for (int c = 0; c < columns; c++) {
+                index.putLong(min[c]).putLong(max[c]);
+            }
+            write(block);
+            blocks++;
+            rows = 0;
+        }
+
+        /**
+         * Appends one salary column to the block with delta or dictionary encoding, whichever is
+         * smaller, and records its min/max.
+         */
+        private void writeAmounts(long[] values, long[] min, long[] max, int column) {
+            chunk.reset();
+            long previous = 0;
+            for (int i = 0; i < rows; i++) {
+                chunk.putZigZag(values[i] - previous);
+                previous = values[i];
+            }
+
+            long[] sorted = Arrays.copyOf(values, rows);
+            Arrays.sort(sorted);
+            min[column] = sorted[0];
+            max[column] = sorted[rows - 1];
+            int distinct = 0;
+            for (int i = 0; i < rows && distinct <= MAX_DICTIONARY_SIZE; i++) {
+                if (distinct == 0 || sorted[i] != sorted[distinct - 1]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            if (distinct > MAX_DICTIONARY_SIZE) {
+                block.putChunk(ENCODING_DELTA, chunk);
+                return;
+            }
+
+            alternative.reset();
+            alternative.putVarLong(distinct);
+            previous = 0;
+            for (int d = 0; d < distinct; d++) {
+                alternative.putZigZag(sorted[d] - previous);
+                previous = sorted[d];
+            }
+            for (int i = 0; i < rows; i++) {
+                alternative.put((byte) Arrays.binarySearch(sorted, 0, distinct, values[i]));
+            }
+            if (alternative.length < chunk.length) {
+                block.putChunk(ENCODING_DICTIONARY, alternative);
+            } else {
+                block.putChunk(ENCODING_DELTA, chunk);
+            }
+        }
+
+        private void write(ByteSink sink) throws IOException {
+            ByteBuffer buffer = sink.toByteBuffer();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            sink.reset();
+        }
+    }
+}
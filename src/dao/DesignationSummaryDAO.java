@@ -0,0 +1,164 @@
+package dao;
+
+import model.DesignationSummary;
+import model.Employee;
+import util.DBConnection;
+import util.Money;
+import util.OperationMetrics;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Data Access Object (DAO) class for the designation_summary table, which holds headcount and
+ * salary totals per designation.
+ * The table is kept current by applying a {@link Delta} inside the same transaction as each
+ * employee change, so reading it costs O(designations) instead of O(employees).
+ */
+public class DesignationSummaryDAO {
+    private static final String UPSERT_SQL = "INSERT INTO designation_summary (designation, headcount, total_basic_salary, "
+            + "total_hra, total_da, total_deductions, total_bonus, total_tax, total_net_salary) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+            + "headcount = headcount + VALUES(headcount), "
+            + "total_basic_salary = total_basic_salary + VALUES(total_basic_salary), "
+            + "total_hra = total_hra + VALUES(total_hra), "
+            + "total_da = total_da + VALUES(total_da), "
+            + "total_deductions = total_deductions + VALUES(total_deductions), "
+            + "total_bonus = total_bonus + VALUES(total_bonus), "
+            + "total_tax = total_tax + VALUES(total_tax), "
+            + "total_net_salary = total_net_salary + VALUES(total_net_salary)";
+
+    /**
+     * Retrieves the payroll totals of every designation that has employees.
+     *
+     * @return List of summaries ordered by designation.
+     */
+    public List<DesignationSummary> getDesignationSummaries() {
+        List<DesignationSummary> summaries = new ArrayList<>();
+        String sql = "SELECT designation, headcount, " + DBConnection.minorUnits("total_basic_salary") + ", "
+                + DBConnection.minorUnits("total_hra") + ", " + DBConnection.minorUnits("total_da") + ", "
+                + DBConnection.minorUnits("total_deductions") + ", " + DBConnection.minorUnits("total_bonus") + ", "
+                + DBConnection.minorUnits("total_tax") + ", " + DBConnection.minorUnits("total_net_salary")
+                + " FROM designation_summary WHERE headcount > 0 ORDER BY designation";
+
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement stmt = con.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                summaries.add(new DesignationSummary(rs.getString(1), rs.getInt(2), rs.getLong(3), rs.getLong(4),
+                        rs.getLong(5), rs.getLong(6), rs.getLong(7), rs.getLong(8), rs.getLong(9)));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching designation summary: " + e.getMessage());
+            OperationMetrics.markFailed();
+        }
+        return summaries;
+    }
+
+    /**
+     * Recomputes the whole summary table from the employee table.
+     * Only needed if employees were changed outside the application.
+     *
+     * @return True if the rebuild succeeded.
+     */
+    public boolean rebuild() {
+        try (Connection con = DBConnection.getConnection();
+             Statement stmt = con.createStatement()) {
+            con.setAutoCommit(false);
+            try {
+                stmt.executeUpdate("DELETE FROM designation_summary");
+                stmt.executeUpdate("INSERT INTO designation_summary (designation, headcount, total_basic_salary, total_hra, "
+                        + "total_da, total_deductions, total_bonus, total_tax, total_net_salary) "
+                        + "SELECT designation, COUNT(*), SUM(basic_salary), SUM(hra), SUM(da), SUM(deductions), "
+                        + "SUM(COALESCE(bonus, 0)), SUM(COALESCE(tax, 0)), SUM(net_salary) FROM employee GROUP BY designation");
+                con.commit();
+                return true;
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error rebuilding designation summary: " + e.getMessage());
+            OperationMetrics.markFailed();
+            return false;
+        }
+    }
+
+    /**
+     * Accumulates changes to the summary for the employees touched by one transaction.
+     * Not thread-safe.
+     */
+    public static class Delta {
+        // Sorted, so concurrent transactions lock summary rows in the same order.
+        private final Map<String, long[]> changes = new TreeMap<>();
+
+        /**
+         * Records a new employee (or the new state of an updated one).
+         */
+        public void add(Employee emp) {
+            apply(emp, 1);
+        }
+
+        /**
+         * Records a deleted employee (or the old state of an updated one).
+         */
+        public void subtract(Employee emp) {
+            apply(emp, -1);
+        }
+
+        /**
+         * @return True if nothing has been recorded.
+         */
+        public boolean isEmpty() {
+            return changes.isEmpty();
+        }
+
+        /**
+         * Writes the accumulated changes with one upsert per designation.
+         * Must be called on the connection, and inside the transaction, that changed the employees.
+         *
+         * @param con Connection with the open transaction.
+         * @throws SQLException If the summary cannot be updated.
+         */
+        public void applyTo(Connection con) throws SQLException {
+            if (changes.isEmpty()) {
+                return;
+            }
+            try (PreparedStatement stmt = con.prepareStatement(UPSERT_SQL)) {
+                for (Map.Entry<String, long[]> entry : changes.entrySet()) {
+                    long[] totals = entry.getValue();
+                    stmt.setString(1, entry.getKey());
+                    stmt.setInt(2, (int) totals[0]);
+                    for (int i = 1; i < totals.length; i++) {
+                        stmt.setBigDecimal(i + 2, Money.toDecimal(totals[i]));
+                    }
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+            changes.clear();
+        }
+
+        private void apply(Employee emp, int sign) {
+            emp.calculateNetSalary();
+            long[] totals = changes.computeIfAbsent(emp.getDesignation(), k -> new long[8]);
+            totals[0] += sign;
+            totals[1] += sign * emp.getBasicSalary();
+            totals[2] += sign * emp.getHra();
+            totals[3] += sign * emp.getDa();
+            totals[4] += sign * emp.getDeductions();
+            totals[5] += sign * emp.getBonus();
+            totals[6] += sign * emp.getTax();
+            totals[7] += sign * emp.getNetSalary();
+        }
+    }
+}
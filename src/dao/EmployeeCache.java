@@ -0,0 +1,168 @@
+package dao;
+
+import model.Employee;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, read-through cache of employees by ID with LRU eviction and a time-to-live.
+ * Entries are copied on the way in and out, so callers can modify the returned Employee
+ * without affecting the cache.
+ * Thread-safe; all operations are O(1).
+ */
+public class EmployeeCache {
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<Integer, Entry> entries;
+
+    private long invalidations;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxEntries Maximum number of cached employees; the least recently used one is evicted first.
+     * @param ttlMillis  Time after which a cached employee is reloaded from the database.
+     */
+    public EmployeeCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Loads an employee from the database when the cache does not hold it.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        Employee load(int empId);
+    }
+
+    /**
+     * Returns the cached employee, or loads and caches it.
+     * A value loaded while the same employee is being invalidated is returned but not cached,
+     * so an update can never be hidden by an older read.
+     *
+     * @param empId  Employee ID.
+     * @param loader Called on a miss.
+     * @return A copy of the employee, or null if the loader found none.
+     */
+    public Employee get(int empId, Loader loader) {
+        long stamp;
+        synchronized (this) {
+            Entry entry = entries.get(empId);
+            if (entry != null) {
+                if (System.nanoTime() - entry.loadedAt < ttlNanos) {
+                    hits++;
+                    return copy(entry.employee);
+                }
+                entries.remove(empId);
+                expirations++;
+            }
+            misses++;
+            stamp = invalidations;
+        }
+
+        Employee loaded = loader.load(empId);
+        if (loaded == null || maxEntries <= 0) {
+            return loaded;
+        }
+
+        synchronized (this) {
+            if (stamp == invalidations) {
+                entries.put(empId, new Entry(copy(loaded), System.nanoTime()));
+                evictOverflow();
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Removes one employee from the cache. Call after the employee is updated or deleted.
+     *
+     * @param empId Employee ID.
+     */
+    public synchronized void invalidate(int empId) {
+        invalidations++;
+        entries.remove(empId);
+    }
+
+    /**
+     * Removes every cached employee.
+     */
+    public synchronized void invalidateAll() {
+        invalidations++;
+        entries.clear();
+    }
+
+    /** @return Number of lookups answered from the cache. */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /** @return Number of lookups that went to the database. */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /** @return Number of entries removed to stay within the size bound. */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /** @return Number of entries dropped because their TTL had passed. */
+    public synchronized long getExpirations() {
+        return expirations;
+    }
+
+    /** @return Number of cached employees. */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns a one-line summary of the cache counters.
+     */
+    public synchronized String getStats() {
+        long lookups = hits + misses;
+        return String.format("size=%d/%d, hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, expirations=%d",
+                entries.size(), maxEntries, hits, misses, lookups == 0 ? 0.0 : hits * 100.0 / lookups,
+                evictions, expirations);
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Integer, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Returns an independent copy of an employee.
+     */
+    static Employee copy(Employee e) {
+        Employee copy = new Employee(e.getEmpId(), e.getName(), e.getDesignation(),
+                e.getBasicSalary(), e.getHra(), e.getDa(), e.getDeductions());
+        copy.setBonus(e.getBonus());
+        copy.setTax(e.getTax());
+        copy.calculateNetSalary();
+        return copy;
+    }
+
+    private static class Entry {
+        private final Employee employee;
+        private final long loadedAt;
+
+        Entry(Employee employee, long loadedAt) {
+            this.employee = employee;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -1,65 +1,298 @@
 package dao;
 
+import model.DesignationSummary;
 import model.Employee;
+import model.EmployeeSummary;
+import model.RosterSnapshot;
+import util.AppConfig;
 import util.DBConnection;
+import util.Money;
+import util.NumberFormatter;
+import util.OperationMetrics;
+import util.TopN;
 
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.io.FileWriter;
-import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 /**
  * Data Access Object (DAO) class to handle Employee-related database operations.
+ * This is the MySQL implementation of {@link EmployeeRepository}.
  */
-public class EmployeeDAO {
-    private final Connection con;
+public class EmployeeDAO implements EmployeeRepository {
+    /**
+     * Columns read for a full Employee, in the order decoded by extractEmployeeFromResultSet.
+     * Salary components are read as BIGINT minor units. net_salary is not read because
+     * Employee recalculates it.
+     */
+    private static final String EMPLOYEE_COLUMNS = "emp_id, name, designation, "
+            + DBConnection.minorUnits("basic_salary") + ", " + DBConnection.minorUnits("hra") + ", "
+            + DBConnection.minorUnits("da") + ", " + DBConnection.minorUnits("deductions") + ", "
+            + DBConnection.minorUnits("bonus") + ", " + DBConnection.minorUnits("tax");
+    private static final int COL_EMP_ID = 1;
+    private static final int COL_NAME = 2;
+    private static final int COL_DESIGNATION = 3;
+    private static final int COL_BASIC_SALARY = 4;
+    private static final int COL_HRA = 5;
+    private static final int COL_DA = 6;
+    private static final int COL_DEDUCTIONS = 7;
+    private static final int COL_BONUS = 8;
+    private static final int COL_TAX = 9;
+
+    /** Columns read for an EmployeeSummary, in the order decoded by extractSummaryFromResultSet. */
+    private static final String SUMMARY_COLUMNS = "emp_id, name, designation, " + DBConnection.minorUnits("net_salary");
+    private static final int SUMMARY_COL_EMP_ID = 1;
+    private static final int SUMMARY_COL_NAME = 2;
+    private static final int SUMMARY_COL_DESIGNATION = 3;
+    private static final int SUMMARY_COL_NET_SALARY = 4;
+
+    // net_salary is a generated column (see db/migration/V2__performance_indexes.sql), so it is never written.
+    private static final String INSERT_SQL = "INSERT INTO employee (name, designation, basic_salary, hra, da, deductions, bonus, tax, row_version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** Size of the write buffer used by exportReportToCSV. */
+    static final int CSV_BUFFER_SIZE = 1 << 20;
+
+    /** Header line of the CSV report. */
+    static final String CSV_HEADER = "Emp ID,Name,Designation,Basic Salary,HRA,DA,Deductions,Bonus,Tax,Net Salary";
+
+    /**
+     * Maximum number of IDs bound per "emp_id IN (...)" query when loading search results.
+     * Lists are padded to a power of two so only a handful of distinct statements reach the
+     * prepared statement cache.
+     */
+    private static final int IN_CLAUSE_SIZE = 512;
+
+    /**
+     * Trigram index over employee names, shared by all DAO instances and kept up to date by
+     * the add, update and delete methods.
+     */
+    private static final NameIndex nameIndex = new NameIndex();
+
+    /**
+     * Read-through cache for getEmployeeById, invalidated by updateEmployee and deleteEmployee.
+     * Size and TTL can be changed with "cache.employee.maxEntries" and "cache.employee.ttlMs".
+     */
+    private static final EmployeeCache employeeCache = new EmployeeCache(
+            AppConfig.getInt("cache.employee.maxEntries", 10_000),
+            AppConfig.getLong("cache.employee.ttlMs", 60_000));
+
+    /**
+     * Whether the employee table has an index starting with the given columns, e.g. "net_salary"
+     * or "designation,net_salary". Looked up in the database metadata once per column list.
+     */
+    private static final Map<String, Boolean> indexedColumns = new ConcurrentHashMap<>();
 
     /**
-     * Constructor initializes database connection.
+     * Returns the employee cache shared by all DAO instances, e.g. to read its hit/miss counters.
      */
-    public EmployeeDAO() {
-        con = DBConnection.getConnection();
+    public static EmployeeCache getEmployeeCache() {
+        return employeeCache;
     }
 
     /**
-     * Adds a new employee to the database.
+     * Adds a new employee to the database, stamped with the next row version.
      *
      * @param emp Employee object containing employee details.
      */
+    @Override
     public void addEmployee(Employee emp) {
-        String sql = "INSERT INTO employee (name, designation, basic_salary, hra, da, deductions, bonus, tax, net_salary) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = con.prepareStatement(sql)) {
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement stmt = con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             emp.calculateNetSalary();
+            bindEmployee(stmt, emp);
 
-            stmt.setString(1, emp.getName());
-            stmt.setString(2, emp.getDesignation());
-            stmt.setDouble(3, emp.getBasicSalary());
-            stmt.setDouble(4, emp.getHra());
-            stmt.setDouble(5, emp.getDa());
-            stmt.setDouble(6, emp.getDeductions());
-            stmt.setDouble(7, emp.getBonus());
-            stmt.setDouble(8, emp.getTax());
-            stmt.setDouble(9, emp.getNetSalary());
-
-            stmt.executeUpdate();
+            con.setAutoCommit(false);
+            try {
+                stmt.setLong(9, RowVersionDAO.nextVersions(con, 1));
+                stmt.executeUpdate();
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    if (keys.next()) {
+                        emp.setEmpId(keys.getInt(1));
+                    }
+                }
+                DesignationSummaryDAO.Delta delta = new DesignationSummaryDAO.Delta();
+                delta.add(emp);
+                delta.applyTo(con);
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(true);
+            }
+            nameIndex.put(emp.getEmpId(), emp.getName());
         } catch (SQLException e) {
             System.err.println("Error adding employee: " + e.getMessage());
+            OperationMetrics.markFailed();
         }
     }
 
+    /**
+     * Adds many employees using JDBC batching with the default batch size.
+     *
+     * @param employees Employees to insert.
+     * @return Generated employee IDs, in insertion order.
+     * @see #addEmployees(Iterator, int)
+     */
+    @Override
+    public List<Integer> addEmployees(Collection<Employee> employees) {
+        return addEmployees(employees.iterator(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Adds many employees using JDBC batching.
+     *
+     * @param employees Employees to insert.
+     * @param batchSize Number of rows per batch and per transaction.
+     * @return Generated employee IDs, in insertion order.
+     * @see #addEmployees(Iterator, int)
+     */
+    @Override
+    public List<Integer> addEmployees(Collection<Employee> employees, int batchSize) {
+        return addEmployees(employees.iterator(), batchSize);
+    }
+
+    /**
+     * Adds employees read from an iterator using JDBC batching, so very large imports
+     * never need to be held in memory at once.
+     * Rows are sent in batches of batchSize and each batch is committed in its own transaction,
+     * together with its designation summary totals
+     * (with rewriteBatchedStatements=true on the MySQL URL the driver sends one multi-row INSERT per batch).
+     * Net salary is calculated for every employee, and each Employee gets its generated ID.
+     * Each batch takes a consecutive block of row versions.
+     * If a batch fails it is rolled back and the import stops; IDs of the batches committed so far are returned.
+     *
+     * @param employees Iterator over the employees to insert.
+     * @param batchSize Number of rows per batch and per transaction.
+     * @return Generated employee IDs of all committed rows, in insertion order.
+     */
+    @Override
+    public List<Integer> addEmployees(Iterator<Employee> employees, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        List<Integer> ids = new ArrayList<>();
+        List<Employee> chunk = new ArrayList<>(Math.min(batchSize, 10_000));
+
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement stmt = con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            con.setAutoCommit(false);
+            try {
+                while (employees.hasNext()) {
+                    Employee emp = employees.next();
+                    emp.calculateNetSalary();
+                    chunk.add(emp);
+
+                    if (chunk.size() == batchSize || !employees.hasNext()) {
+                        executeInsertBatch(con, stmt, chunk, ids);
+                        chunk.clear();
+                    }
+                }
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error adding employees (" + ids.size() + " added before the failure): " + e.getMessage());
+            OperationMetrics.markFailed();
+        }
+        return ids;
+    }
+
+    /**
+     * Binds, executes and commits one insert batch, assigning generated IDs to the inserted employees.
+     * Parameters are bound only once the batch is complete, because its row versions are taken
+     * just before it is sent.
+     */
+    private void executeInsertBatch(Connection con, PreparedStatement stmt, List<Employee> chunk, List<Integer> ids) throws SQLException {
+        long version = RowVersionDAO.nextVersions(con, chunk.size());
+        for (Employee emp : chunk) {
+            bindEmployee(stmt, emp);
+            stmt.setLong(9, version++);
+            stmt.addBatch();
+        }
+        stmt.executeBatch();
+        List<Integer> chunkIds = new ArrayList<>(chunk.size());
+        try (ResultSet keys = stmt.getGeneratedKeys()) {
+            while (keys.next()) {
+                chunkIds.add(keys.getInt(1));
+            }
+        }
+        DesignationSummaryDAO.Delta delta = new DesignationSummaryDAO.Delta();
+        for (Employee emp : chunk) {
+            delta.add(emp);
+        }
+        delta.applyTo(con);
+        con.commit();
+
+        for (int i = 0; i < chunk.size() && i < chunkIds.size(); i++) {
+            Employee emp = chunk.get(i);
+            emp.setEmpId(chunkIds.get(i));
+            nameIndex.put(emp.getEmpId(), emp.getName());
+        }
+        ids.addAll(chunkIds);
+    }
+
+    /**
+     * Reads an employee and locks its row until the current transaction ends, so the
+     * designation summary delta is computed from the values actually being replaced.
+     *
+     * @return The current employee, or null if it does not exist.
+     */
+    private Employee lockEmployee(Connection con, int empId) throws SQLException {
+        String sql = "SELECT " + EMPLOYEE_COLUMNS + " FROM employee WHERE emp_id = ? FOR UPDATE";
+        try (PreparedStatement stmt = con.prepareStatement(sql)) {
+            stmt.setInt(1, empId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? extractEmployeeFromResultSet(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * Binds the stored columns (name through tax) of an employee to parameters 1-8 of the statement.
+     */
+    private void bindEmployee(PreparedStatement stmt, Employee emp) throws SQLException {
+        stmt.setString(1, emp.getName());
+        stmt.setString(2, emp.getDesignation());
+        stmt.setBigDecimal(3, Money.toDecimal(emp.getBasicSalary()));
+        stmt.setBigDecimal(4, Money.toDecimal(emp.getHra()));
+        stmt.setBigDecimal(5, Money.toDecimal(emp.getDa()));
+        stmt.setBigDecimal(6, Money.toDecimal(emp.getDeductions()));
+        stmt.setBigDecimal(7, Money.toDecimal(emp.getBonus()));
+        stmt.setBigDecimal(8, Money.toDecimal(emp.getTax()));
+    }
+
 
     /**
      * Retrieves all employees from the database.
      *
      * @return List of all Employee objects.
      */
+    @Override
     public List<Employee> getAllEmployees() {
         List<Employee> employees = new ArrayList<>();
-        String sql = "SELECT * FROM employee";
+        String sql = "SELECT " + EMPLOYEE_COLUMNS + " FROM employee";
 
-        try (PreparedStatement stmt = con.prepareStatement(sql);
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement stmt = con.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
@@ -67,20 +300,112 @@ public class EmployeeDAO {
             }
         } catch (SQLException e) {
             System.err.println("Error fetching employees: " + e.getMessage());
+            OperationMetrics.markFailed();
         }
 
         return employees;
     }
 
+    /**
+     * Retrieves and locks the next chunk of employees in ID order, for jobs that walk the whole
+     * table in ID ranges. The rows stay locked until the caller's transaction ends.
+     * Unlike the other query methods, failures are thrown rather than reported as an empty
+     * result, so a job cannot mistake an error for the end of the table.
+     *
+     * @param con        Connection with the job's open transaction.
+     * @param afterEmpId Only employees with a greater ID are returned (0 to start).
+     * @param limit      Maximum number of employees to return.
+     * @return Employees ordered by ID; empty when there are no more.
+     * @throws SQLException If the query fails.
+     */
+    List<Employee> lockEmployeesAfterId(Connection con, int afterEmpId, int limit) throws SQLException {
+        String sql = "SELECT " + EMPLOYEE_COLUMNS + " FROM employee WHERE emp_id > ? ORDER BY emp_id LIMIT ? FOR UPDATE";
+        List<Employee> employees = new ArrayList<>(Math.min(limit, 10_000));
+        try (PreparedStatement stmt = con.prepareStatement(sql)) {
+            stmt.setInt(1, afterEmpId);
+            stmt.setInt(2, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    employees.add(extractEmployeeFromResultSet(rs));
+                }
+            }
+        }
+        return employees;
+    }
+
+    /**
+     * Reads the whole employee table into a columnar {@link RosterSnapshot} for analytics.
+     * Rows are streamed straight into primitive arrays without creating Employee objects.
+     *
+     * @return The snapshot, or null if the table could not be read.
+     */
+    @Override
+    public RosterSnapshot loadRosterSnapshot() {
+        String sql = "SELECT " + EMPLOYEE_COLUMNS + " FROM employee ORDER BY emp_id";
+        RosterSnapshot.Builder builder = new RosterSnapshot.Builder(1024);
+
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement stmt = DBConnection.prepareStreamingStatement(con, sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                builder.add(rs.getInt(COL_EMP_ID), rs.getString(COL_DESIGNATION),
+                        rs.getLong(COL_BASIC_SALARY), rs.getLong(COL_HRA), rs.getLong(COL_DA),
+                        rs.getLong(COL_DEDUCTIONS), rs.getLong(COL_BONUS), rs.getLong(COL_TAX));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error loading roster snapshot: " + e.getMessage());
+            OperationMetrics.markFailed();
+            return null;
+        }
+        return builder.build();
+    }
+
+    /**
+     * Streams the employee table to the given action in ID order.
+     * Rows come from a streaming cursor, so heap use does not depend on the table size.
+     *
+     * @param action Called once per employee.
+     * @return Number of employees passed to the action, or -1 if the table could not be read.
+     */
+    @Override
+    public int forEachEmployee(Consumer<? super Employee> action) {
+        String sql = "SELECT " + EMPLOYEE_COLUMNS + " FROM employee ORDER BY emp_id";
+        int count = 0;
+
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement stmt = DBConnection.prepareStreamingStatement(con, sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                action.accept(extractEmployeeFromResultSet(rs));
+                count++;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error streaming employees: " + e.getMessage());
+            OperationMetrics.markFailed();
+            return -1;
+        }
+        return count;
+    }
+
     /**
      * Retrieves a specific employee by their ID.
      *
      * @param empId The ID of the employee to retrieve.
      * @return Employee object if found, otherwise null.
      */
+    @Override
     public Employee getEmployeeById(int empId) {
-        String sql = "SELECT * FROM employee WHERE emp_id=?";
-        try (PreparedStatement stmt = con.prepareStatement(sql)) {
+        return employeeCache.get(empId, this::loadEmployeeById);
+    }
+
+    /**
+     * Reads an employee from the database, bypassing the cache.
+     */
+    private Employee loadEmployeeById(int empId) {
+        String sql = "SELECT " + EMPLOYEE_COLUMNS + " FROM employee WHERE emp_id=?";
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement stmt = con.prepareStatement(sql)) {
             stmt.setInt(1, empId);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -89,136 +414,538 @@ public class EmployeeDAO {
             }
         } catch (SQLException e) {
             System.err.println("Error fetching employee by ID: " + e.getMessage());
+            OperationMetrics.markFailed();
         }
         return null;
     }
 
     /**
-     * Retrieves a list of employees whose name matches (or partially matches) the given name.
+     * Retrieves a list of employees whose name matches (or partially matches) the given name,
+     * returning at most {@link #DEFAULT_SEARCH_LIMIT} employees.
      *
      * @param name Partial or full name to search.
      * @return List of matching Employee objects.
      */
+    @Override
     public List<Employee> getEmployeesByName(String name) {
-        List<Employee> employees = new ArrayList<>();
-        String sql = "SELECT * FROM employee WHERE name LIKE ?";
+        return getEmployeesByName(name, DEFAULT_SEARCH_LIMIT);
+    }
 
-        try (PreparedStatement stmt = con.prepareStatement(sql)) {
-            stmt.setString(1, "%" + name + "%");
+    /**
+     * Retrieves employees whose name contains the given text, ignoring case.
+     * Matching is done in memory with the trigram {@link NameIndex}; the database is only
+     * queried by primary key to load the matched employees.
+     *
+     * @param name  Partial or full name to search.
+     * @param limit Maximum number of employees to return.
+     * @return List of matching Employee objects, ordered by employee ID.
+     */
+    @Override
+    public List<Employee> getEmployeesByName(String name, int limit) {
+        if (!nameIndex.isLoaded()) {
+            buildNameIndex();
+        }
+        return getEmployeesByIds(nameIndex.search(name, limit));
+    }
 
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    employees.add(extractEmployeeFromResultSet(rs));
+    /**
+     * Loads the name index from the employee table.
+     * Called at startup; afterwards the index is maintained by addEmployee, addEmployees,
+     * updateEmployee and deleteEmployee. Rebuild it if the table is changed by other means.
+     */
+    @Override
+    public void buildNameIndex() {
+        Map<Integer, String> names = new HashMap<>();
+        String sql = "SELECT emp_id, name FROM employee";
+
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement stmt = DBConnection.prepareStreamingStatement(con, sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                names.put(rs.getInt(1), rs.getString(2));
+            }
+            nameIndex.rebuild(names);
+        } catch (SQLException e) {
+            System.err.println("Error building name index: " + e.getMessage());
+            OperationMetrics.markFailed();
+        }
+    }
+
+    /**
+     * Retrieves the employees with the given IDs, ordered by employee ID.
+     *
+     * @param ids Employee IDs to load.
+     * @return List of the employees found.
+     */
+    @Override
+    public List<Employee> getEmployeesByIds(List<Integer> ids) {
+        return queryByIds(ids, EMPLOYEE_COLUMNS, this::extractEmployeeFromResultSet);
+    }
+
+    /**
+     * Retrieves ID, name, designation and net salary of employees whose name contains the
+     * given text, ignoring case. Cheaper than {@link #getEmployeesByName(String)} for list views.
+     *
+     * @param name Partial or full name to search.
+     * @return List of matching summaries, ordered by employee ID.
+     */
+    @Override
+    public List<EmployeeSummary> getEmployeeSummariesByName(String name) {
+        if (!nameIndex.isLoaded()) {
+            buildNameIndex();
+        }
+        return queryByIds(nameIndex.search(name, DEFAULT_SEARCH_LIMIT), SUMMARY_COLUMNS, this::extractSummaryFromResultSet);
+    }
+
+    /**
+     * Retrieves ID, name, designation and net salary of all employees.
+     *
+     * @return List of all employee summaries.
+     */
+    @Override
+    public List<EmployeeSummary> getAllEmployeeSummaries() {
+        List<EmployeeSummary> summaries = new ArrayList<>();
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM employee";
+
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement stmt = con.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                summaries.add(extractSummaryFromResultSet(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching employee summaries: " + e.getMessage());
+            OperationMetrics.markFailed();
+        }
+
+        return summaries;
+    }
+
+    /**
+     * Loads rows by primary key in chunks of "emp_id IN (...)" queries.
+     */
+    private <T> List<T> queryByIds(List<Integer> ids, String columns, RowMapper<T> mapper) {
+        List<T> rows = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return rows;
+        }
+
+        try (Connection con = DBConnection.getConnection()) {
+            for (int from = 0; from < ids.size(); from += IN_CLAUSE_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + IN_CLAUSE_SIZE));
+                int params = chunk.size() == 1 ? 1 : Integer.highestOneBit(chunk.size() - 1) << 1;
+                StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(" FROM employee WHERE emp_id IN (");
+                for (int i = 0; i < params; i++) {
+                    sql.append(i == 0 ? "?" : ", ?");
+                }
+                sql.append(") ORDER BY emp_id");
+
+                try (PreparedStatement stmt = con.prepareStatement(sql.toString())) {
+                    for (int i = 0; i < params; i++) {
+                        // Padding repeats the last ID, which does not change the result.
+                        stmt.setInt(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            rows.add(mapper.map(rs));
+                        }
+                    }
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error searching employees by name: " + e.getMessage());
+            System.err.println("Error fetching employees by ID: " + e.getMessage());
+            OperationMetrics.markFailed();
         }
 
-        return employees;
+        return rows;
+    }
+
+    /**
+     * Retrieves the payroll totals of every designation from the designation_summary table.
+     *
+     * @return List of summaries ordered by designation.
+     */
+    @Override
+    public List<DesignationSummary> getDesignationSummaries() {
+        return new DesignationSummaryDAO().getDesignationSummaries();
     }
 
     /**
-     * Updates the details of an existing employee in the database.
+     * Updates the details of an existing employee in the database and gives the row a new row version.
      *
      * @param empId The ID of the employee to update.
      * @param emp   The Employee object containing updated details.
      */
+    @Override
     public void updateEmployee(int empId, Employee emp) {
-        String sql = "UPDATE employee SET name = ?, designation = ?, basic_salary = ?, hra = ?, da = ?, deductions = ?, bonus = ?, tax = ?, net_salary = ? WHERE emp_id = ?";
-        try (PreparedStatement stmt = con.prepareStatement(sql)) {
+        String sql = "UPDATE employee SET name = ?, designation = ?, basic_salary = ?, hra = ?, da = ?, deductions = ?, bonus = ?, tax = ?, row_version = ? WHERE emp_id = ?";
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement stmt = con.prepareStatement(sql)) {
             emp.calculateNetSalary();
-
-            stmt.setString(1, emp.getName());
-            stmt.setString(2, emp.getDesignation());
-            stmt.setDouble(3, emp.getBasicSalary());
-            stmt.setDouble(4, emp.getHra());
-            stmt.setDouble(5, emp.getDa());
-            stmt.setDouble(6, emp.getDeductions());
-            stmt.setDouble(7, emp.getBonus());
-            stmt.setDouble(8, emp.getTax());
-            stmt.setDouble(9, emp.getNetSalary());
+            bindEmployee(stmt, emp);
             stmt.setInt(10, empId);
 
-            stmt.executeUpdate();
+            con.setAutoCommit(false);
+            try {
+                Employee old = lockEmployee(con, empId);
+                if (old == null) {
+                    con.rollback();
+                    return;
+                }
+                stmt.setLong(9, RowVersionDAO.nextVersions(con, 1));
+                stmt.executeUpdate();
+                DesignationSummaryDAO.Delta delta = new DesignationSummaryDAO.Delta();
+                delta.subtract(old);
+                delta.add(emp);
+                delta.applyTo(con);
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(true);
+            }
+            employeeCache.invalidate(empId);
+            nameIndex.put(empId, emp.getName());
         } catch (SQLException e) {
             System.err.println("Error updating employee: " + e.getMessage());
+            OperationMetrics.markFailed();
         }
     }
 
     /**
-     * Deletes an employee from the database.
+     * Deletes an employee from the database, leaving a versioned tombstone for delta exports.
      *
      * @param empId The ID of the employee to delete.
      */
+    @Override
     public boolean deleteEmployee(int empId) {
         String sql = "DELETE FROM employee WHERE emp_id = ?";
-        try (PreparedStatement stmt = con.prepareStatement(sql)) {
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement stmt = con.prepareStatement(sql)) {
             stmt.setInt(1, empId);
-            int rowsAffected = stmt.executeUpdate();
+
+            int rowsAffected = 0;
+            con.setAutoCommit(false);
+            try {
+                Employee old = lockEmployee(con, empId);
+                if (old != null) {
+                    rowsAffected = stmt.executeUpdate();
+                    RowVersionDAO.recordDeletion(con, empId, RowVersionDAO.nextVersions(con, 1));
+                    DesignationSummaryDAO.Delta delta = new DesignationSummaryDAO.Delta();
+                    delta.subtract(old);
+                    delta.applyTo(con);
+                }
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(true);
+            }
+            employeeCache.invalidate(empId);
+            nameIndex.remove(empId);
 
             return rowsAffected > 0;
         } catch (SQLException e) {
             System.err.println("Error deleting employee: " + e.getMessage());
+            OperationMetrics.markFailed();
             return false;  // deletion failed
         }
     }
 
 
     /**
-     * Generates a report of all employees printed in the console,
-     * sorted by net salary in descending order.
+     * Retrieves the first page of the salary report, ordered by net salary (highest first)
+     * and then by employee ID.
+     *
+     * @param pageSize Maximum number of employees to return.
+     * @return The first page of employees.
+     */
+    @Override
+    public List<Employee> getReportPage(int pageSize) {
+        String sql = "SELECT " + EMPLOYEE_COLUMNS + " FROM employee ORDER BY net_salary DESC, emp_id LIMIT ?";
+        return queryEmployees(sql, stmt -> stmt.setInt(1, pageSize));
+    }
+
+    /**
+     * Retrieves the page of the salary report that follows the given row.
+     * Uses keyset pagination on (net_salary DESC, emp_id): the database seeks straight to the
+     * position after the last row seen instead of counting past an OFFSET, so every page
+     * costs the same.
+     *
+     * @param afterNetSalary Net salary (minor units) of the last employee on the previous page.
+     * @param afterEmpId     ID of the last employee on the previous page.
+     * @param pageSize       Maximum number of employees to return.
+     * @return The next page of employees (empty when the report is finished).
+     */
+    @Override
+    public List<Employee> getReportPage(long afterNetSalary, int afterEmpId, int pageSize) {
+        String sql = "SELECT " + EMPLOYEE_COLUMNS + " FROM employee WHERE net_salary < ? OR (net_salary = ? AND emp_id > ?) "
+                + "ORDER BY net_salary DESC, emp_id LIMIT ?";
+        BigDecimal after = Money.toDecimal(afterNetSalary);
+        return queryEmployees(sql, stmt -> {
+            stmt.setBigDecimal(1, after);
+            stmt.setBigDecimal(2, after);
+            stmt.setInt(3, afterEmpId);
+            stmt.setInt(4, pageSize);
+        });
+    }
+
+    /**
+     * Retrieves the highest or lowest paid employees, optionally of one designation.
+     * When an index leads with the sort column (net_salary, or designation and net_salary when
+     * filtering), the database returns the rows with ORDER BY ... LIMIT and stops after count of
+     * them. Otherwise the whole table has to be read anyway, so the rows are streamed through a
+     * bounded heap, keeping O(count) of them in memory.
+     *
+     * @param designation Only employees with this designation (null or blank for all).
+     * @param count       Maximum number of employees to return.
+     * @param highest     True for the highest net salaries first, false for the lowest first.
+     * @return The employees, in {@link #HIGHEST_PAID_FIRST} or {@link #LOWEST_PAID_FIRST} order.
+     */
+    @Override
+    public List<Employee> getTopEarners(String designation, int count, boolean highest) {
+        boolean byDesignation = designation != null && !designation.isBlank();
+        String sql = "SELECT " + EMPLOYEE_COLUMNS + " FROM employee" + (byDesignation ? " WHERE designation = ?" : "");
+
+        try (Connection con = DBConnection.getConnection()) {
+            if (hasIndex(con, byDesignation ? "designation,net_salary" : "net_salary")) {
+                sql += highest ? " ORDER BY net_salary DESC, emp_id LIMIT ?" : " ORDER BY net_salary, emp_id DESC LIMIT ?";
+                List<Employee> employees = new ArrayList<>(Math.min(count, 1024));
+                try (PreparedStatement stmt = con.prepareStatement(sql)) {
+                    int i = 1;
+                    if (byDesignation) {
+                        stmt.setString(i++, designation);
+                    }
+                    stmt.setInt(i, count);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            employees.add(extractEmployeeFromResultSet(rs));
+                        }
+                    }
+                }
+                return employees;
+            }
+
+            TopN<Employee> top = new TopN<>(count, highest ? HIGHEST_PAID_FIRST : LOWEST_PAID_FIRST);
+            try (PreparedStatement stmt = DBConnection.prepareStreamingStatement(con, sql)) {
+                if (byDesignation) {
+                    stmt.setString(1, designation);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        top.offer(extractEmployeeFromResultSet(rs));
+                    }
+                }
+            }
+            return top.toSortedList();
+        } catch (SQLException e) {
+            System.err.println("Error fetching top earners: " + e.getMessage());
+            OperationMetrics.markFailed();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Checks whether an index of the employee table starts with the given columns.
+     *
+     * @param columns Comma-separated lower-case column names, without spaces.
+     */
+    private static boolean hasIndex(Connection con, String columns) throws SQLException {
+        Boolean known = indexedColumns.get(columns);
+        if (known != null) {
+            return known;
+        }
+        // Index columns arrive ordered by index name and then position.
+        Map<String, StringBuilder> indexes = new HashMap<>();
+        try (ResultSet rs = con.getMetaData().getIndexInfo(con.getCatalog(), null, "employee", false, true)) {
+            while (rs.next()) {
+                String index = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (index != null && column != null) {
+                    StringBuilder list = indexes.computeIfAbsent(index, k -> new StringBuilder());
+                    list.append(list.length() == 0 ? "" : ",").append(column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        boolean found = indexes.values().stream().anyMatch(list -> (list + ",").startsWith(columns + ","));
+        indexedColumns.put(columns, found);
+        return found;
+    }
+
+    /**
+     * Runs an employee query after binding its parameters.
      */
-    public void generateReport() {
-        List<Employee> employees = getAllEmployees();
-        employees.sort((e1, e2) -> Double.compare(e2.getNetSalary(), e1.getNetSalary()));
+    private List<Employee> queryEmployees(String sql, StatementBinder binder) {
+        List<Employee> employees = new ArrayList<>();
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement stmt = con.prepareStatement(sql)) {
+            binder.bind(stmt);
 
-        System.out.println("\nEmp ID | Name | Designation | Basic | HRA | DA | Deductions | Bonus | Tax | Net Salary");
-        for (Employee e : employees) {
-            System.out.printf("%d | %s | %s | %.2f | %.2f | %.2f | %.2f | %.2f | %.2f | %.2f%n",
-                    e.getEmpId(), e.getName(), e.getDesignation(), e.getBasicSalary(), e.getHra(), e.getDa(),
-                    e.getDeductions(), e.getBonus(), e.getTax(), e.getNetSalary());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    employees.add(extractEmployeeFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching employees: " + e.getMessage());
+            OperationMetrics.markFailed();
         }
+        return employees;
+    }
+
+    /**
+     * Callback that binds parameters to a prepared statement.
+     */
+    @FunctionalInterface
+    private interface StatementBinder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    /**
+     * Callback that decodes the current row of a result set.
+     */
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
     }
 
     /**
-     * Exports the employee report to a CSV file named "EmployeeReport.csv".
+     * Exports the employee report to a CSV file.
+     * Rows are read from a streaming cursor and formatted into a reused buffer, so heap use
+     * stays flat however large the table is.
+     *
+     * @param fileName Path of the CSV file to write.
+     * @return Number of employee rows written, or -1 if the export failed.
      */
-    public void exportReportToCSV() {
-        List<Employee> employees = getAllEmployees();
-        try (PrintWriter pw = new PrintWriter(new FileWriter("EmployeeReport.csv"))) {
-            pw.println("Emp ID,Name,Designation,Basic Salary,HRA,DA,Deductions,Bonus,Tax,Net Salary");
-            for (Employee e : employees) {
-                pw.printf("%d,%s,%s,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f%n",
-                        e.getEmpId(), e.getName(), e.getDesignation(),
-                        e.getBasicSalary(), e.getHra(), e.getDa(),
-                        e.getDeductions(), e.getBonus(), e.getTax(), e.getNetSalary());
+    @Override
+    public int exportReportToCSV(String fileName) {
+        String sql = "SELECT " + EMPLOYEE_COLUMNS + " FROM employee";
+        String newLine = System.lineSeparator();
+        StringBuilder row = new StringBuilder(256);
+        char[] chars = new char[256];
+        int count = 0;
+
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                Files.newOutputStream(Paths.get(fileName)), StandardCharsets.UTF_8), CSV_BUFFER_SIZE);
+             Connection con = DBConnection.getConnection();
+             PreparedStatement stmt = DBConnection.prepareStreamingStatement(con, sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            out.write(CSV_HEADER);
+            out.write(newLine);
+
+            while (rs.next()) {
+                long basic = rs.getLong(COL_BASIC_SALARY);
+                long hra = rs.getLong(COL_HRA);
+                long da = rs.getLong(COL_DA);
+                long deductions = rs.getLong(COL_DEDUCTIONS);
+                long bonus = rs.getLong(COL_BONUS);
+                long tax = rs.getLong(COL_TAX);
+
+                row.setLength(0);
+                appendCsvRow(row, rs.getInt(COL_EMP_ID), rs.getString(COL_NAME), rs.getString(COL_DESIGNATION),
+                        basic, hra, da, deductions, bonus, tax).append(newLine);
+
+                if (chars.length < row.length()) {
+                    chars = new char[row.length() * 2];
+                }
+                row.getChars(0, row.length(), chars, 0);
+                out.write(chars, 0, row.length());
+                count++;
             }
         } catch (Exception e) {
             System.err.println("Error exporting report: " + e.getMessage());
+            OperationMetrics.markFailed();
+            return -1;
         }
+        return count;
     }
 
-
     /**
-     * Displays a detailed report for a single employee based on their ID.
+     * Exports the employees changed since the previous export with the same name to a CSV file.
+     * Changed rows are found through the row_version index and deletions through the tombstones,
+     * in one streaming query, so the cost depends on the number of changes rather than on the
+     * size of the table.
      *
-     * @param empId The employee ID.
+     * @param fileName   Path of the CSV file to write.
+     * @param exportName Name the watermark is stored under, one per downstream consumer.
+     * @return Number of change rows written, or -1 if the export failed.
      */
-    public void generateReportForEmployee(int empId) {
-        Employee emp = getEmployeeById(empId);
-        if (emp != null) {
-            System.out.printf("\n%-5s %-20s %-15s %-10s %-10s %-10s %-10s %-10s %-10s %-10s%n",
-                    "ID", "Name", "Designation", "Basic", "HRA", "DA", "Deductions", "Bonus", "Tax", "Net Salary");
+    @Override
+    public int exportChangesToCSV(String fileName, String exportName) {
+        String sql = "SELECT 'U', row_version, " + EMPLOYEE_COLUMNS + " FROM employee WHERE row_version > ?"
+                + " UNION ALL SELECT 'D', row_version, emp_id, NULL, NULL, 0, 0, 0, 0, 0, 0"
+                + " FROM employee_tombstone WHERE row_version > ? ORDER BY 2";
+        // The change type and row version come first, so the employee columns are shifted by two.
+        int shift = 2;
+        String newLine = System.lineSeparator();
+        StringBuilder row = new StringBuilder(256);
+        int count = 0;
+
+        try (Connection con = DBConnection.getConnection()) {
+            long watermark = RowVersionDAO.loadWatermark(con, exportName);
+            long lastVersion = watermark;
 
-            System.out.printf("%-5d %-20s %-15s %-10.2f %-10.2f %-10.2f %-10.2f %-10.2f %-10.2f %-10.2f%n",
-                    emp.getEmpId(), emp.getName(), emp.getDesignation(), emp.getBasicSalary(), emp.getHra(),
-                    emp.getDa(), emp.getDeductions(), emp.getBonus(), emp.getTax(), emp.getNetSalary());
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                    Files.newOutputStream(Paths.get(fileName)), StandardCharsets.UTF_8), CSV_BUFFER_SIZE);
+                 PreparedStatement stmt = DBConnection.prepareStreamingStatement(con, sql)) {
+                stmt.setLong(1, watermark);
+                stmt.setLong(2, watermark);
 
-            System.out.println("\nReport generated successfully!");
-        } else {
-            System.out.println("Model.Employee not found!");
+                out.write(RowVersionDAO.DELTA_CSV_HEADER);
+                out.write(newLine);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        lastVersion = rs.getLong(2);
+                        int empId = rs.getInt(shift + COL_EMP_ID);
+
+                        row.setLength(0);
+                        if (rs.getString(1).charAt(0) == RowVersionDAO.CHANGE_DELETE) {
+                            RowVersionDAO.appendDeletionRow(row, lastVersion, empId);
+                        } else {
+                            row.append(RowVersionDAO.CHANGE_UPSERT).append(',').append(lastVersion).append(',');
+                            appendCsvRow(row, empId, rs.getString(shift + COL_NAME), rs.getString(shift + COL_DESIGNATION),
+                                    rs.getLong(shift + COL_BASIC_SALARY), rs.getLong(shift + COL_HRA),
+                                    rs.getLong(shift + COL_DA), rs.getLong(shift + COL_DEDUCTIONS),
+                                    rs.getLong(shift + COL_BONUS), rs.getLong(shift + COL_TAX));
+                        }
+                        out.append(row.append(newLine));
+                        count++;
+                    }
+                }
+            }
+
+            if (lastVersion > watermark) {
+                RowVersionDAO.saveWatermark(con, exportName, lastVersion, count);
+            }
+        } catch (Exception e) {
+            System.err.println("Error exporting changes: " + e.getMessage());
+            OperationMetrics.markFailed();
+            return -1;
         }
+        return count;
+    }
+
+    /**
+     * Appends one CSV report line (without line separator). Amounts are in minor units; net
+     * salary is derived from the components the same way as {@link Employee#calculateNetSalary()}.
+     *
+     * @return The given builder.
+     */
+    static StringBuilder appendCsvRow(StringBuilder row, int empId, String name, String designation, long basic,
+                                      long hra, long da, long deductions, long bonus, long tax) {
+        long net = (basic + hra + da + bonus) - (deductions + tax);
+        row.append(empId).append(',').append(name).append(',').append(designation).append(',');
+        NumberFormatter.appendMoney(row, basic).append(',');
+        NumberFormatter.appendMoney(row, hra).append(',');
+        NumberFormatter.appendMoney(row, da).append(',');
+        NumberFormatter.appendMoney(row, deductions).append(',');
+        NumberFormatter.appendMoney(row, bonus).append(',');
+        NumberFormatter.appendMoney(row, tax).append(',');
+        return NumberFormatter.appendMoney(row, net);
     }
 
 
@@ -226,23 +953,25 @@ public class EmployeeDAO {
      * Retrieves employees filtered by designation and salary range.
      *
      * @param designation Filter by designation (can be null or blank for no filter).
-     * @param minSalary   Minimum net salary filter (-1 for no minimum filter).
-     * @param maxSalary   Maximum net salary filter (-1 for no maximum filter).
+     * @param minSalary   Minimum net salary filter in minor units (-1 for no minimum filter).
+     * @param maxSalary   Maximum net salary filter in minor units (-1 for no maximum filter).
      * @return List of filtered Employee objects.
      */
-    public List<Employee> getFilteredEmployees(String designation, double minSalary, double maxSalary) {
+    @Override
+    public List<Employee> getFilteredEmployees(String designation, long minSalary, long maxSalary) {
         List<Employee> list = new ArrayList<>();
         try {
-            String sql = "SELECT * FROM employee WHERE 1=1";
+            String sql = "SELECT " + EMPLOYEE_COLUMNS + " FROM employee WHERE 1=1";
             if (designation != null && !designation.isBlank()) sql += " AND designation=?";
             if (minSalary >= 0) sql += " AND net_salary >= ?";
             if (maxSalary >= 0) sql += " AND net_salary <= ?";
 
-            try (PreparedStatement stmt = con.prepareStatement(sql)) {
+            try (Connection con = DBConnection.getConnection();
+                 PreparedStatement stmt = con.prepareStatement(sql)) {
                 int index = 1;
                 if (designation != null && !designation.isBlank()) stmt.setString(index++, designation);
-                if (minSalary >= 0) stmt.setDouble(index++, minSalary);
-                if (maxSalary >= 0) stmt.setDouble(index++, maxSalary);
+                if (minSalary >= 0) stmt.setBigDecimal(index++, Money.toDecimal(minSalary));
+                if (maxSalary >= 0) stmt.setBigDecimal(index++, Money.toDecimal(maxSalary));
 
                 try (ResultSet rs = stmt.executeQuery()) {
                     while (rs.next()) {
@@ -253,6 +982,7 @@ public class EmployeeDAO {
 
         } catch (SQLException e) {
             System.err.println("Error fetching filtered employees: " + e.getMessage());
+            OperationMetrics.markFailed();
         }
 
         return list;
@@ -260,25 +990,40 @@ public class EmployeeDAO {
 
 
     /**
-     * Extracts an Employee object from the current row of the given ResultSet.
+     * Extracts an Employee object from the current row of the given ResultSet,
+     * which must have been selected with EMPLOYEE_COLUMNS. Columns are read by position,
+     * avoiding a name lookup per column and row.
+     * Package-private so the benchmarks module can measure it.
      *
      * @param rs The ResultSet positioned at the current row.
      * @return The Employee object.
      * @throws Exception If any SQL error occurs.
      */
-    private Employee extractEmployeeFromResultSet(ResultSet rs) throws SQLException {
+    Employee extractEmployeeFromResultSet(ResultSet rs) throws SQLException {
         Employee emp = new Employee(
-                rs.getInt("emp_id"),
-                rs.getString("name"),
-                rs.getString("designation"),
-                rs.getDouble("basic_salary"),
-                rs.getDouble("hra"),
-                rs.getDouble("da"),
-                rs.getDouble("deductions")
+                rs.getInt(COL_EMP_ID),
+                rs.getString(COL_NAME),
+                rs.getString(COL_DESIGNATION),
+                rs.getLong(COL_BASIC_SALARY),
+                rs.getLong(COL_HRA),
+                rs.getLong(COL_DA),
+                rs.getLong(COL_DEDUCTIONS)
         );
-        emp.setBonus(rs.getDouble("bonus"));
-        emp.setTax(rs.getDouble("tax"));
+        emp.setBonus(rs.getLong(COL_BONUS));
+        emp.setTax(rs.getLong(COL_TAX));
         emp.calculateNetSalary();
         return emp;
     }
+
+    /**
+     * Extracts an EmployeeSummary from the current row of a result set selected with SUMMARY_COLUMNS.
+     *
+     * @param rs The ResultSet positioned at the current row.
+     * @return The EmployeeSummary object.
+     * @throws SQLException If any SQL error occurs.
+     */
+    private EmployeeSummary extractSummaryFromResultSet(ResultSet rs) throws SQLException {
+        return new EmployeeSummary(rs.getInt(SUMMARY_COL_EMP_ID), rs.getString(SUMMARY_COL_NAME),
+                rs.getString(SUMMARY_COL_DESIGNATION), rs.getLong(SUMMARY_COL_NET_SALARY));
+    }
 }
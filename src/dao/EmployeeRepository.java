@@ -0,0 +1,313 @@
+package dao;
+
+import model.DesignationSummary;
+import model.Employee;
+import model.EmployeeSummary;
+import model.RosterSnapshot;
+import util.AppConfig;
+import util.Money;
+import util.TopN;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Storage operations for employees, independent of where they are stored.
+ * {@link EmployeeDAO} keeps employees in MySQL; {@link InMemoryEmployeeRepository} keeps them
+ * in process for benchmarks and tests. Use {@link RepositoryFactory} to get the configured one.
+ *
+ * Employees passed in and returned are copies: changing them has no effect until they are
+ * written back with {@link #updateEmployee(int, Employee)}.
+ */
+public interface EmployeeRepository {
+    /**
+     * Default number of rows sent per batch (and committed per transaction) by addEmployees.
+     * Can be changed with the "employee.batchSize" setting.
+     */
+    int DEFAULT_BATCH_SIZE = AppConfig.getInt("employee.batchSize", 1000);
+
+    /** Maximum number of employees returned by a name search. Can be changed with "search.limit". */
+    int DEFAULT_SEARCH_LIMIT = AppConfig.getInt("search.limit", 100);
+
+    /** Order of the salary report and the top earners report: net salary descending, then employee ID. */
+    Comparator<Employee> HIGHEST_PAID_FIRST = Comparator
+            .comparingLong(Employee::getNetSalary).reversed()
+            .thenComparingInt(Employee::getEmpId);
+
+    /**
+     * Order of the bottom earners report: the salary report read from its end, that is net salary
+     * ascending, then employee ID descending.
+     */
+    Comparator<Employee> LOWEST_PAID_FIRST = HIGHEST_PAID_FIRST.reversed();
+
+    /** Number of rows fetched per page by generateReport. Can be changed with "report.pageSize". */
+    int REPORT_PAGE_SIZE = Math.max(1, AppConfig.getInt("report.pageSize", 100));
+
+    /**
+     * Adds a new employee and assigns its generated ID.
+     *
+     * @param emp Employee object containing employee details.
+     */
+    void addEmployee(Employee emp);
+
+    /**
+     * Adds many employees with the default batch size.
+     *
+     * @param employees Employees to insert.
+     * @return Generated employee IDs, in insertion order.
+     */
+    List<Integer> addEmployees(Collection<Employee> employees);
+
+    /**
+     * Adds many employees.
+     *
+     * @param employees Employees to insert.
+     * @param batchSize Number of rows per batch and per transaction.
+     * @return Generated employee IDs, in insertion order.
+     */
+    List<Integer> addEmployees(Collection<Employee> employees, int batchSize);
+
+    /**
+     * Adds employees read from an iterator, so very large imports never need to be held in
+     * memory at once. If a batch fails the import stops.
+     *
+     * @param employees Iterator over the employees to insert.
+     * @param batchSize Number of rows per batch and per transaction.
+     * @return Generated employee IDs of all committed rows, in insertion order.
+     */
+    List<Integer> addEmployees(Iterator<Employee> employees, int batchSize);
+
+    /**
+     * Retrieves all employees.
+     *
+     * @return List of all Employee objects.
+     */
+    List<Employee> getAllEmployees();
+
+    /**
+     * Retrieves ID, name, designation and net salary of all employees.
+     *
+     * @return List of all employee summaries.
+     */
+    List<EmployeeSummary> getAllEmployeeSummaries();
+
+    /**
+     * Reads all employees into a columnar {@link RosterSnapshot} for analytics.
+     *
+     * @return The snapshot, or null if the employees could not be read.
+     */
+    RosterSnapshot loadRosterSnapshot();
+
+    /**
+     * Passes every employee, in ID order, to the given action without holding them all in
+     * memory. The action runs on the calling thread and may block to slow the read down.
+     * Exceptions thrown by the action stop the read and are propagated.
+     *
+     * @param action Called once per employee with a copy it may keep.
+     * @return Number of employees passed to the action, or -1 if they could not be read.
+     */
+    int forEachEmployee(Consumer<? super Employee> action);
+
+    /**
+     * Retrieves a specific employee by their ID.
+     *
+     * @param empId The ID of the employee to retrieve.
+     * @return Employee object if found, otherwise null.
+     */
+    Employee getEmployeeById(int empId);
+
+    /**
+     * Retrieves the employees with the given IDs, ordered by employee ID.
+     *
+     * @param ids Employee IDs to load.
+     * @return List of the employees found.
+     */
+    List<Employee> getEmployeesByIds(List<Integer> ids);
+
+    /**
+     * Retrieves employees whose name contains the given text, ignoring case,
+     * returning at most {@link #DEFAULT_SEARCH_LIMIT} employees.
+     *
+     * @param name Partial or full name to search.
+     * @return List of matching Employee objects, ordered by employee ID.
+     */
+    List<Employee> getEmployeesByName(String name);
+
+    /**
+     * Retrieves employees whose name contains the given text, ignoring case.
+     *
+     * @param name  Partial or full name to search.
+     * @param limit Maximum number of employees to return.
+     * @return List of matching Employee objects, ordered by employee ID.
+     */
+    List<Employee> getEmployeesByName(String name, int limit);
+
+    /**
+     * Retrieves ID, name, designation and net salary of employees whose name contains the
+     * given text, ignoring case.
+     *
+     * @param name Partial or full name to search.
+     * @return List of matching summaries, ordered by employee ID.
+     */
+    List<EmployeeSummary> getEmployeeSummariesByName(String name);
+
+    /**
+     * Loads the structures used by name searches. Called at startup; afterwards they are
+     * maintained by the add, update and delete methods.
+     */
+    void buildNameIndex();
+
+    /**
+     * Retrieves employees filtered by designation and salary range.
+     *
+     * @param designation Filter by designation (can be null or blank for no filter).
+     * @param minSalary   Minimum net salary filter in minor units (-1 for no minimum filter).
+     * @param maxSalary   Maximum net salary filter in minor units (-1 for no maximum filter).
+     * @return List of filtered Employee objects.
+     */
+    List<Employee> getFilteredEmployees(String designation, long minSalary, long maxSalary);
+
+    /**
+     * Retrieves the first page of the salary report, ordered by net salary (highest first)
+     * and then by employee ID.
+     *
+     * @param pageSize Maximum number of employees to return.
+     * @return The first page of employees.
+     */
+    List<Employee> getReportPage(int pageSize);
+
+    /**
+     * Retrieves the page of the salary report that follows the given row.
+     *
+     * @param afterNetSalary Net salary (minor units) of the last employee on the previous page.
+     * @param afterEmpId     ID of the last employee on the previous page.
+     * @param pageSize       Maximum number of employees to return.
+     * @return The next page of employees (empty when the report is finished).
+     */
+    List<Employee> getReportPage(long afterNetSalary, int afterEmpId, int pageSize);
+
+    /**
+     * Retrieves the highest or lowest paid employees, optionally of one designation.
+     * The default implementation streams every employee through a bounded heap of count
+     * entries, so it takes O(n log count) time and O(count) memory instead of a full sort.
+     *
+     * @param designation Only employees with this designation, ignoring case (null or blank for all).
+     * @param count       Maximum number of employees to return.
+     * @param highest     True for the highest net salaries first, false for the lowest first.
+     * @return The employees, in {@link #HIGHEST_PAID_FIRST} or {@link #LOWEST_PAID_FIRST} order.
+     */
+    default List<Employee> getTopEarners(String designation, int count, boolean highest) {
+        boolean byDesignation = designation != null && !designation.isBlank();
+        TopN<Employee> top = new TopN<>(count, highest ? HIGHEST_PAID_FIRST : LOWEST_PAID_FIRST);
+        forEachEmployee(emp -> {
+            if (!byDesignation || emp.getDesignation().equalsIgnoreCase(designation)) {
+                top.offer(emp);
+            }
+        });
+        return top.toSortedList();
+    }
+
+    /**
+     * Retrieves headcount and salary totals of every designation that has employees.
+     *
+     * @return List of summaries ordered by designation.
+     */
+    List<DesignationSummary> getDesignationSummaries();
+
+    /**
+     * Updates the details of an existing employee.
+     *
+     * @param empId The ID of the employee to update.
+     * @param emp   The Employee object containing updated details.
+     */
+    void updateEmployee(int empId, Employee emp);
+
+    /**
+     * Deletes an employee.
+     *
+     * @param empId The ID of the employee to delete.
+     * @return True if the employee existed and was deleted.
+     */
+    boolean deleteEmployee(int empId);
+
+    /**
+     * Exports the employee report to a CSV file.
+     *
+     * @param fileName Path of the CSV file to write.
+     * @return Number of employee rows written, or -1 if the export failed.
+     */
+    int exportReportToCSV(String fileName);
+
+    /**
+     * Exports the employees changed since the previous export with the same name to a CSV file,
+     * in row version order: a "U" line with the current values of every added or updated
+     * employee and a "D" line for every deleted one.
+     * The export's watermark is advanced only after the file has been written, so the rows of a
+     * failed export are included again in the next one.
+     *
+     * @param fileName   Path of the CSV file to write.
+     * @param exportName Name the watermark is stored under, one per downstream consumer.
+     * @return Number of change rows written, or -1 if the export failed.
+     */
+    int exportChangesToCSV(String fileName, String exportName);
+
+    /**
+     * Exports the employee report to a CSV file named "EmployeeReport.csv".
+     *
+     * @return Number of employee rows written, or -1 if the export failed.
+     * @see #exportReportToCSV(String)
+     */
+    default int exportReportToCSV() {
+        return exportReportToCSV("EmployeeReport.csv");
+    }
+
+    /**
+     * Generates a report of all employees printed in the console,
+     * sorted by net salary in descending order.
+     * Rows are fetched one page at a time, so the first lines appear without waiting
+     * for all employees to be read and sorted.
+     */
+    default void generateReport() {
+        System.out.println("\nEmp ID | Name | Designation | Basic | HRA | DA | Deductions | Bonus | Tax | Net Salary");
+
+        List<Employee> page = getReportPage(REPORT_PAGE_SIZE);
+        while (!page.isEmpty()) {
+            for (Employee e : page) {
+                System.out.printf("%d | %s | %s | %s | %s | %s | %s | %s | %s | %s%n",
+                        e.getEmpId(), e.getName(), e.getDesignation(), Money.format(e.getBasicSalary()),
+                        Money.format(e.getHra()), Money.format(e.getDa()), Money.format(e.getDeductions()),
+                        Money.format(e.getBonus()), Money.format(e.getTax()), Money.format(e.getNetSalary()));
+            }
+            if (page.size() < REPORT_PAGE_SIZE) {
+                break;
+            }
+            Employee last = page.get(page.size() - 1);
+            page = getReportPage(last.getNetSalary(), last.getEmpId(), REPORT_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Displays a detailed report for a single employee based on their ID.
+     *
+     * @param empId The employee ID.
+     */
+    default void generateReportForEmployee(int empId) {
+        Employee emp = getEmployeeById(empId);
+        if (emp != null) {
+            System.out.printf("\n%-5s %-20s %-15s %-10s %-10s %-10s %-10s %-10s %-10s %-10s%n",
+                    "ID", "Name", "Designation", "Basic", "HRA", "DA", "Deductions", "Bonus", "Tax", "Net Salary");
+
+            System.out.printf("%-5d %-20s %-15s %-10s %-10s %-10s %-10s %-10s %-10s %-10s%n",
+                    emp.getEmpId(), emp.getName(), emp.getDesignation(), Money.format(emp.getBasicSalary()),
+                    Money.format(emp.getHra()), Money.format(emp.getDa()), Money.format(emp.getDeductions()),
+                    Money.format(emp.getBonus()), Money.format(emp.getTax()), Money.format(emp.getNetSalary()));
+
+            System.out.println("\nReport generated successfully!");
+        } else {
+            System.out.println("Model.Employee not found!");
+        }
+    }
+}
@@ -0,0 +1,491 @@
+package dao;
+
+import model.DesignationSummary;
+import model.Employee;
+import model.EmployeeSummary;
+import model.RosterSnapshot;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * {@link EmployeeRepository} that keeps employees in process memory, so the application,
+ * benchmarks and soak tests can run without a database. Data is lost when the JVM exits.
+ *
+ * Employees are indexed by ID and by report order (net salary descending, then ID), so
+ * report pages are O(log n) seeks like the keyset queries of {@link EmployeeDAO}, and names are
+ * searched with the same trigram {@link NameIndex}. Every change takes the next row version,
+ * as in the database, so delta exports work the same way.
+ * Thread-safe: reads share a read lock, writes take the write lock.
+ */
+public class InMemoryEmployeeRepository implements EmployeeRepository {
+    // Stored employees are private copies and are never modified, only replaced.
+    private final Map<Integer, Employee> employees = new TreeMap<>();
+    private final NavigableSet<Employee> reportOrder = new TreeSet<>(HIGHEST_PAID_FIRST);
+    private final NameIndex nameIndex = new NameIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int nextEmpId = 1;
+
+    // Latest row version of every employee, including deleted ones (their tombstone), and the
+    // same versions in order. Employee IDs are never reused, so an ID that is no longer in
+    // employees marks a deletion.
+    private final Map<Integer, Long> rowVersions = new HashMap<>();
+    private final NavigableMap<Long, Integer> changes = new TreeMap<>();
+    private final Map<String, Long> watermarks = new ConcurrentHashMap<>();
+    private long lastRowVersion;
+
+    /**
+     * Creates an empty repository.
+     */
+    public InMemoryEmployeeRepository() {
+        nameIndex.rebuild(new HashMap<>());
+    }
+
+    @Override
+    public void addEmployee(Employee emp) {
+        lock.writeLock().lock();
+        try {
+            insert(emp);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Integer> addEmployees(Collection<Employee> employees) {
+        return addEmployees(employees.iterator(), DEFAULT_BATCH_SIZE);
+    }
+
+    @Override
+    public List<Integer> addEmployees(Collection<Employee> employees, int batchSize) {
+        return addEmployees(employees.iterator(), batchSize);
+    }
+
+    /**
+     * Adds employees read from an iterator. Each batch is added under one write lock, so
+     * readers are not blocked for the whole import.
+     */
+    @Override
+    public List<Integer> addEmployees(Iterator<Employee> employees, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        List<Integer> ids = new ArrayList<>();
+        List<Employee> chunk = new ArrayList<>(Math.min(batchSize, 10_000));
+        while (employees.hasNext()) {
+            chunk.add(employees.next());
+            if (chunk.size() == batchSize || !employees.hasNext()) {
+                lock.writeLock().lock();
+                try {
+                    for (Employee emp : chunk) {
+                        ids.add(insert(emp));
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                chunk.clear();
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        lock.readLock().lock();
+        try {
+            List<Employee> result = new ArrayList<>(employees.size());
+            for (Employee emp : employees.values()) {
+                result.add(EmployeeCache.copy(emp));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<EmployeeSummary> getAllEmployeeSummaries() {
+        lock.readLock().lock();
+        try {
+            List<EmployeeSummary> result = new ArrayList<>(employees.size());
+            for (Employee emp : employees.values()) {
+                result.add(toSummary(emp));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public RosterSnapshot loadRosterSnapshot() {
+        lock.readLock().lock();
+        try {
+            RosterSnapshot.Builder builder = new RosterSnapshot.Builder(employees.size());
+            for (Employee emp : employees.values()) {
+                builder.add(emp.getEmpId(), emp.getDesignation(), emp.getBasicSalary(), emp.getHra(), emp.getDa(),
+                        emp.getDeductions(), emp.getBonus(), emp.getTax());
+            }
+            return builder.build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Passes every employee to the action in ID order. The lock is only held while the current
+     * employees are listed, so a blocking action does not hold up writers.
+     */
+    @Override
+    public int forEachEmployee(Consumer<? super Employee> action) {
+        List<Employee> current;
+        lock.readLock().lock();
+        try {
+            current = new ArrayList<>(employees.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Stored employees are never modified, so they can be copied outside the lock.
+        for (Employee emp : current) {
+            action.accept(EmployeeCache.copy(emp));
+        }
+        return current.size();
+    }
+
+    @Override
+    public Employee getEmployeeById(int empId) {
+        lock.readLock().lock();
+        try {
+            Employee emp = employees.get(empId);
+            return emp == null ? null : EmployeeCache.copy(emp);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Employee> getEmployeesByIds(List<Integer> ids) {
+        lock.readLock().lock();
+        try {
+            List<Employee> result = new ArrayList<>(ids.size());
+            for (int empId : new TreeSet<>(ids)) {
+                Employee emp = employees.get(empId);
+                if (emp != null) {
+                    result.add(EmployeeCache.copy(emp));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Employee> getEmployeesByName(String name) {
+        return getEmployeesByName(name, DEFAULT_SEARCH_LIMIT);
+    }
+
+    @Override
+    public List<Employee> getEmployeesByName(String name, int limit) {
+        return getEmployeesByIds(nameIndex.search(name, limit));
+    }
+
+    @Override
+    public List<EmployeeSummary> getEmployeeSummariesByName(String name) {
+        List<Integer> ids = nameIndex.search(name, DEFAULT_SEARCH_LIMIT);
+        lock.readLock().lock();
+        try {
+            List<EmployeeSummary> result = new ArrayList<>(ids.size());
+            for (int empId : ids) {
+                Employee emp = employees.get(empId);
+                if (emp != null) {
+                    result.add(toSummary(emp));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Does nothing: the name index is maintained on every change.
+     */
+    @Override
+    public void buildNameIndex() {
+    }
+
+    /**
+     * Retrieves employees filtered by designation and salary range.
+     * Designations are compared ignoring case, like the default MySQL collation.
+     */
+    @Override
+    public List<Employee> getFilteredEmployees(String designation, long minSalary, long maxSalary) {
+        boolean byDesignation = designation != null && !designation.isBlank();
+        lock.readLock().lock();
+        try {
+            List<Employee> result = new ArrayList<>();
+            for (Employee emp : employees.values()) {
+                if ((!byDesignation || emp.getDesignation().equalsIgnoreCase(designation))
+                        && (minSalary < 0 || emp.getNetSalary() >= minSalary)
+                        && (maxSalary < 0 || emp.getNetSalary() <= maxSalary)) {
+                    result.add(EmployeeCache.copy(emp));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Employee> getReportPage(int pageSize) {
+        lock.readLock().lock();
+        try {
+            return copyPage(reportOrder, pageSize);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Employee> getReportPage(long afterNetSalary, int afterEmpId, int pageSize) {
+        // Only the sort keys of the probe matter: net salary and ID.
+        Employee after = new Employee(afterEmpId, "", "", afterNetSalary, 0, 0, 0);
+        lock.readLock().lock();
+        try {
+            return copyPage(reportOrder.tailSet(after, false), pageSize);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the highest or lowest paid employees by walking the report order from either end,
+     * so without a designation filter only count employees are visited.
+     */
+    @Override
+    public List<Employee> getTopEarners(String designation, int count, boolean highest) {
+        boolean byDesignation = designation != null && !designation.isBlank();
+        List<Employee> result = new ArrayList<>(Math.min(count, 1024));
+        lock.readLock().lock();
+        try {
+            Iterator<Employee> it = highest ? reportOrder.iterator() : reportOrder.descendingIterator();
+            while (it.hasNext() && result.size() < count) {
+                Employee emp = it.next();
+                if (!byDesignation || emp.getDesignation().equalsIgnoreCase(designation)) {
+                    result.add(EmployeeCache.copy(emp));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<DesignationSummary> getDesignationSummaries() {
+        Map<String, long[]> totals = new TreeMap<>();
+        lock.readLock().lock();
+        try {
+            for (Employee emp : employees.values()) {
+                long[] t = totals.computeIfAbsent(emp.getDesignation(), k -> new long[8]);
+                t[0]++;
+                t[1] += emp.getBasicSalary();
+                t[2] += emp.getHra();
+                t[3] += emp.getDa();
+                t[4] += emp.getDeductions();
+                t[5] += emp.getBonus();
+                t[6] += emp.getTax();
+                t[7] += emp.getNetSalary();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<DesignationSummary> summaries = new ArrayList<>(totals.size());
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            long[] t = entry.getValue();
+            summaries.add(new DesignationSummary(entry.getKey(), (int) t[0], t[1], t[2], t[3], t[4], t[5], t[6], t[7]));
+        }
+        return summaries;
+    }
+
+    @Override
+    public void updateEmployee(int empId, Employee emp) {
+        lock.writeLock().lock();
+        try {
+            Employee old = employees.get(empId);
+            if (old == null) {
+                return;
+            }
+            emp.calculateNetSalary();
+            Employee stored = EmployeeCache.copy(emp);
+            stored.setEmpId(empId);
+            reportOrder.remove(old);
+            employees.put(empId, stored);
+            reportOrder.add(stored);
+            nameIndex.put(empId, stored.getName());
+            recordChange(empId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteEmployee(int empId) {
+        lock.writeLock().lock();
+        try {
+            Employee old = employees.remove(empId);
+            if (old == null) {
+                return false;
+            }
+            reportOrder.remove(old);
+            nameIndex.remove(empId);
+            recordChange(empId);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Exports the employee report to a CSV file, in employee ID order.
+     * The employees are listed under the read lock, but the file is written after it is
+     * released, so writers are not blocked by disk I/O.
+     */
+    @Override
+    public int exportReportToCSV(String fileName) {
+        List<Employee> rows;
+        lock.readLock().lock();
+        try {
+            rows = new ArrayList<>(employees.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        String newLine = System.lineSeparator();
+        StringBuilder row = new StringBuilder(256);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                Files.newOutputStream(Paths.get(fileName)), StandardCharsets.UTF_8), EmployeeDAO.CSV_BUFFER_SIZE)) {
+            out.write(EmployeeDAO.CSV_HEADER);
+            out.write(newLine);
+            for (Employee e : rows) {
+                row.setLength(0);
+                EmployeeDAO.appendCsvRow(row, e.getEmpId(), e.getName(), e.getDesignation(), e.getBasicSalary(),
+                        e.getHra(), e.getDa(), e.getDeductions(), e.getBonus(), e.getTax()).append(newLine);
+                out.append(row);
+            }
+        } catch (Exception e) {
+            System.err.println("Error exporting report: " + e.getMessage());
+            return -1;
+        }
+        return rows.size();
+    }
+
+    /**
+     * Exports the employees changed since the previous export with the same name to a CSV file.
+     * Like exportReportToCSV, the changes are listed under the read lock and written after it is released.
+     */
+    @Override
+    public int exportChangesToCSV(String fileName, String exportName) {
+        long watermark = watermarks.getOrDefault(exportName, 0L);
+        List<Long> versions = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        List<Employee> rows = new ArrayList<>();  // null for a deleted employee
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<Long, Integer> change : changes.tailMap(watermark, false).entrySet()) {
+                versions.add(change.getKey());
+                ids.add(change.getValue());
+                rows.add(employees.get(change.getValue()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        String newLine = System.lineSeparator();
+        StringBuilder row = new StringBuilder(256);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                Files.newOutputStream(Paths.get(fileName)), StandardCharsets.UTF_8), EmployeeDAO.CSV_BUFFER_SIZE)) {
+            out.write(RowVersionDAO.DELTA_CSV_HEADER);
+            out.write(newLine);
+            for (int i = 0; i < rows.size(); i++) {
+                Employee e = rows.get(i);
+                row.setLength(0);
+                if (e == null) {
+                    RowVersionDAO.appendDeletionRow(row, versions.get(i), ids.get(i));
+                } else {
+                    row.append(RowVersionDAO.CHANGE_UPSERT).append(',').append(versions.get(i)).append(',');
+                    EmployeeDAO.appendCsvRow(row, e.getEmpId(), e.getName(), e.getDesignation(), e.getBasicSalary(),
+                            e.getHra(), e.getDa(), e.getDeductions(), e.getBonus(), e.getTax());
+                }
+                out.append(row.append(newLine));
+            }
+        } catch (Exception e) {
+            System.err.println("Error exporting changes: " + e.getMessage());
+            return -1;
+        }
+        if (!versions.isEmpty()) {
+            watermarks.merge(exportName, versions.get(versions.size() - 1), Math::max);
+        }
+        return rows.size();
+    }
+
+    /**
+     * Stores a copy of a new employee under the next ID. Must hold the write lock.
+     *
+     * @return The assigned ID, which is also set on the given employee.
+     */
+    private int insert(Employee emp) {
+        emp.calculateNetSalary();
+        emp.setEmpId(nextEmpId++);
+        Employee stored = EmployeeCache.copy(emp);
+        employees.put(stored.getEmpId(), stored);
+        reportOrder.add(stored);
+        nameIndex.put(stored.getEmpId(), stored.getName());
+        recordChange(stored.getEmpId());
+        return stored.getEmpId();
+    }
+
+    /**
+     * Gives an added, updated or deleted employee the next row version. Must hold the write lock.
+     */
+    private void recordChange(int empId) {
+        Long previous = rowVersions.put(empId, ++lastRowVersion);
+        if (previous != null) {
+            changes.remove(previous);
+        }
+        changes.put(lastRowVersion, empId);
+    }
+
+    private static List<Employee> copyPage(Iterable<Employee> ordered, int pageSize) {
+        List<Employee> page = new ArrayList<>(Math.min(pageSize, 1024));
+        for (Iterator<Employee> it = ordered.iterator(); it.hasNext() && page.size() < pageSize; ) {
+            page.add(EmployeeCache.copy(it.next()));
+        }
+        return page;
+    }
+
+    private static EmployeeSummary toSummary(Employee emp) {
+        return new EmployeeSummary(emp.getEmpId(), emp.getName(), emp.getDesignation(), emp.getNetSalary());
+    }
+}
@@ -0,0 +1,40 @@
+package dao;
+
+import model.User;
+import util.PasswordHasher;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link UserRepository} that keeps users in process memory.
+ * Used together with {@link InMemoryEmployeeRepository} when no database is available.
+ * Passwords are kept as {@link PasswordHasher} hashes, like in the users table.
+ */
+public class InMemoryUserRepository implements UserRepository {
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a user, replacing any user with the same username.
+     * A plaintext password is hashed before it is stored.
+     *
+     * @param user The user to add.
+     */
+    public void addUser(User user) {
+        String password = PasswordHasher.isHash(user.getPassword()) ? user.getPassword() : PasswordHasher.hash(user.getPassword());
+        users.put(user.getUsername(), new User(user.getUserId(), user.getUsername(), password, user.getRole(), user.getEmployeeId()));
+    }
+
+    @Override
+    public User login(String username, String password) {
+        User user = username == null ? null : users.get(username);
+        if (user == null) {
+            PasswordHasher.verifyAgainstDummy(password);
+            return null;
+        }
+        if (!PasswordHasher.verify(password, user.getPassword())) {
+            return null;
+        }
+        return new User(user.getUserId(), user.getUsername(), user.getPassword(), user.getRole(), user.getEmployeeId());
+    }
+}
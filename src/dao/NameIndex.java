@@ -0,0 +1,226 @@
+package dao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over employee names for case-insensitive substring search.
+ * Every name is split into overlapping 3-character sequences; a search term matches the
+ * employees present in the posting list of every trigram of the term, after which the
+ * candidate names are checked with a real substring test.
+ * Thread-safe: searches share a read lock, updates take the write lock.
+ */
+public class NameIndex {
+    private final Map<Integer, String> names = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    /**
+     * Replaces the whole index content.
+     *
+     * @param employeeNames Employee names keyed by employee ID.
+     */
+    public void rebuild(Map<Integer, String> employeeNames) {
+        lock.writeLock().lock();
+        try {
+            names.clear();
+            postings.clear();
+            for (Map.Entry<Integer, String> entry : employeeNames.entrySet()) {
+                add(entry.getKey(), entry.getValue());
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds an employee name, replacing the previous name of the same employee.
+     *
+     * @param empId Employee ID.
+     * @param name  Employee name.
+     */
+    public void put(int empId, String name) {
+        lock.writeLock().lock();
+        try {
+            remove0(empId);
+            add(empId, name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an employee from the index.
+     *
+     * @param empId Employee ID.
+     */
+    public void remove(int empId) {
+        lock.writeLock().lock();
+        try {
+            remove0(empId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds employees whose name contains the given text, ignoring case.
+     *
+     * @param term  Text to search for.
+     * @param limit Maximum number of IDs to return.
+     * @return Matching employee IDs in ascending order.
+     */
+    public List<Integer> search(String term, int limit) {
+        String needle = normalize(term);
+        List<Integer> result = new ArrayList<>();
+        if (limit <= 0) {
+            return result;
+        }
+
+        lock.readLock().lock();
+        try {
+            if (needle.length() < 3) {
+                // Too short for a trigram; scan the (in-memory) names instead.
+                for (Map.Entry<Integer, String> entry : names.entrySet()) {
+                    if (entry.getValue().contains(needle)) {
+                        result.add(entry.getKey());
+                    }
+                }
+                result.sort(null);
+                return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+            }
+
+            long[] trigrams = trigramsOf(needle);
+            PostingList[] lists = new PostingList[trigrams.length];
+            for (int i = 0; i < trigrams.length; i++) {
+                lists[i] = postings.get(trigrams[i]);
+                if (lists[i] == null) {
+                    return result;
+                }
+            }
+            // Walk the shortest list and probe the others.
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+            PostingList smallest = lists[0];
+            for (int i = 0; i < smallest.size && result.size() < limit; i++) {
+                int id = smallest.ids[i];
+                boolean inAll = true;
+                for (int j = 1; j < lists.length && inAll; j++) {
+                    inAll = lists[j].contains(id);
+                }
+                if (inAll && names.get(id).contains(needle)) {
+                    result.add(id);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return True once {@link #rebuild(Map)} has been called.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return Number of indexed employees.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return names.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(int empId, String name) {
+        String normalized = normalize(name);
+        names.put(empId, normalized);
+        for (long trigram : trigramsOf(normalized)) {
+            postings.computeIfAbsent(trigram, k -> new PostingList()).add(empId);
+        }
+    }
+
+    private void remove0(int empId) {
+        String old = names.remove(empId);
+        if (old == null) {
+            return;
+        }
+        for (long trigram : trigramsOf(old)) {
+            PostingList list = postings.get(trigram);
+            if (list != null && list.remove(empId) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the distinct trigrams of a string, each packed into a long (3 x 16-bit chars).
+     */
+    private static long[] trigramsOf(String text) {
+        int count = Math.max(0, text.length() - 2);
+        long[] trigrams = new long[count];
+        for (int i = 0; i < count; i++) {
+            trigrams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return distinct == count ? trigrams : Arrays.copyOf(trigrams, distinct);
+    }
+
+    /**
+     * Sorted, growable list of employee IDs.
+     */
+    private static class PostingList {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
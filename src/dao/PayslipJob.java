@@ -0,0 +1,237 @@
+package dao;
+
+import model.Employee;
+import util.Money;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Month-end run that writes a payslip file for every employee.
+ *
+ * The run is a pipeline of three stages, each on its own thread(s):
+ * a reader streams employees from the repository in ID order, a pool of renderers formats and
+ * encodes the payslips in parallel, and a writer stores one file per employee.
+ * The stages are joined by bounded queues, so memory use stays flat however many employees
+ * there are: a stage that falls behind makes the stages before it wait instead of buffering.
+ * If any stage fails, the other stages are stopped and the run reports the error.
+ */
+public class PayslipJob {
+    /** Capacity of each queue between two stages. */
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final long PROGRESS_INTERVAL_MILLIS = 1_000;
+    private static final Employee END_OF_EMPLOYEES = new Employee(0, "", "", 0, 0, 0, 0);
+    private static final Payslip END_OF_PAYSLIPS = new Payslip(0, new byte[0]);
+
+    private final EmployeeRepository repository;
+    private final String period;
+    private final Path outputDir;
+    private final int renderers;
+
+    private final BlockingQueue<Employee> employees = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final BlockingQueue<Payslip> payslips = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final List<Thread> stages = new ArrayList<>();
+
+    /**
+     * Creates a run. A run can only be started once.
+     *
+     * @param repository Source of the employees.
+     * @param period     Pay period printed on every payslip, e.g. "2026-10".
+     * @param outputDir  Directory for the payslip files; created if missing. Existing payslips are overwritten.
+     * @param renderers  Number of threads rendering payslips, usually the number of cores.
+     */
+    public PayslipJob(EmployeeRepository repository, String period, Path outputDir, int renderers) {
+        if (renderers < 1) {
+            throw new IllegalArgumentException("Number of renderers must be positive");
+        }
+        this.repository = repository;
+        this.period = period;
+        this.outputDir = outputDir;
+        this.renderers = renderers;
+    }
+
+    /**
+     * Runs the pipeline and waits for it to finish.
+     * Progress and throughput are printed every second.
+     *
+     * @return Number of payslips written, or -1 if the run failed.
+     */
+    public long run() {
+        try {
+            Files.createDirectories(outputDir);
+        } catch (IOException e) {
+            System.err.println("Error creating payslip directory: " + e.getMessage());
+            return -1;
+        }
+
+        AtomicInteger runningRenderers = new AtomicInteger(renderers);
+        stages.add(new Thread(() -> runStage(this::read), "payslip-reader"));
+        for (int i = 1; i <= renderers; i++) {
+            stages.add(new Thread(() -> runStage(() -> render(runningRenderers)), "payslip-renderer-" + i));
+        }
+        Thread writer = new Thread(() -> runStage(this::write), "payslip-writer");
+        stages.add(writer);
+
+        long start = System.nanoTime();
+        for (Thread stage : stages) {
+            stage.start();
+        }
+        try {
+            writer.join(PROGRESS_INTERVAL_MILLIS);
+            while (writer.isAlive()) {
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("Payslip run '%s': %d payslips, %.0f payslips/s%n",
+                        period, written.get(), written.get() / Math.max(seconds, 1e-9));
+                writer.join(PROGRESS_INTERVAL_MILLIS);
+            }
+            for (Thread stage : stages) {
+                stage.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+            System.err.println("Payslip run '" + period + "' interrupted");
+            return -1;
+        }
+
+        Throwable error = failure.get();
+        if (error != null) {
+            System.err.println("Error running payslip run '" + period + "': " + error.getMessage());
+            return -1;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Payslip run '%s' completed: %d payslips in %.1f s (%.0f payslips/s)%n",
+                period, written.get(), seconds, written.get() / Math.max(seconds, 1e-9));
+        return written.get();
+    }
+
+    /**
+     * Appends the payslip of one employee. Amounts are right-aligned in a fixed-width column.
+     *
+     * @param out    The builder to append to.
+     * @param emp    The employee, with net salary calculated.
+     * @param period Pay period, e.g. "2026-10".
+     * @return The given builder.
+     */
+    static StringBuilder appendPayslip(StringBuilder out, Employee emp, String period) {
+        String newLine = System.lineSeparator();
+        out.append("PAYSLIP ").append(period).append(newLine)
+                .append("Employee ID : ").append(emp.getEmpId()).append(newLine)
+                .append("Name        : ").append(emp.getName()).append(newLine)
+                .append("Designation : ").append(emp.getDesignation()).append(newLine)
+                .append(newLine)
+                .append("Earnings").append(newLine);
+        appendAmount(out, "  Basic salary", emp.getBasicSalary(), newLine);
+        appendAmount(out, "  HRA", emp.getHra(), newLine);
+        appendAmount(out, "  DA", emp.getDa(), newLine);
+        appendAmount(out, "  Bonus", emp.getBonus(), newLine);
+        appendAmount(out, "  Gross earnings", emp.getBasicSalary() + emp.getHra() + emp.getDa() + emp.getBonus(), newLine);
+        out.append(newLine).append("Deductions").append(newLine);
+        appendAmount(out, "  Deductions", emp.getDeductions(), newLine);
+        appendAmount(out, "  Tax", emp.getTax(), newLine);
+        appendAmount(out, "  Total deductions", emp.getDeductions() + emp.getTax(), newLine);
+        out.append(newLine);
+        return appendAmount(out, "Net salary", emp.getNetSalary(), newLine);
+    }
+
+    private static StringBuilder appendAmount(StringBuilder out, String label, long amount, String newLine) {
+        String text = Money.format(amount);
+        out.append(label);
+        for (int pad = 36 - label.length() - text.length(); pad > 0; pad--) {
+            out.append(' ');
+        }
+        return out.append(text).append(newLine);
+    }
+
+    /** Reader stage: streams employees into the first queue, then ends every renderer. */
+    private void read() throws InterruptedException {
+        int count = repository.forEachEmployee(emp -> {
+            try {
+                employees.put(emp);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Payslip run stopped");
+            }
+        });
+        if (count < 0) {
+            throw new IllegalStateException("employees could not be read");
+        }
+        for (int i = 0; i < renderers; i++) {
+            employees.put(END_OF_EMPLOYEES);
+        }
+    }
+
+    /** Renderer stage: formats and encodes payslips; the last renderer to finish ends the writer. */
+    private void render(AtomicInteger runningRenderers) throws InterruptedException {
+        StringBuilder text = new StringBuilder(1024);
+        while (true) {
+            Employee emp = employees.take();
+            if (emp == END_OF_EMPLOYEES) {
+                if (runningRenderers.decrementAndGet() == 0) {
+                    payslips.put(END_OF_PAYSLIPS);
+                }
+                return;
+            }
+            emp.calculateNetSalary();
+            text.setLength(0);
+            appendPayslip(text, emp, period);
+            payslips.put(new Payslip(emp.getEmpId(), text.toString().getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    /** Writer stage: writes one file per payslip. */
+    private void write() throws InterruptedException, IOException {
+        while (true) {
+            Payslip payslip = payslips.take();
+            if (payslip == END_OF_PAYSLIPS) {
+                return;
+            }
+            Files.write(outputDir.resolve("payslip-" + payslip.empId + ".txt"), payslip.content);
+            written.incrementAndGet();
+        }
+    }
+
+    private void runStage(Stage stage) {
+        try {
+            stage.run();
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    /** Records the first failure and stops all stages; they may be blocked on a queue. */
+    private void fail(Throwable error) {
+        if (failure.compareAndSet(null, error)) {
+            for (Thread stage : stages) {
+                stage.interrupt();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    private static final class Payslip {
+        private final int empId;
+        private final byte[] content;
+
+        Payslip(int empId, byte[] content) {
+            this.empId = empId;
+            this.content = content;
+        }
+    }
+}
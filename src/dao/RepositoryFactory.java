@@ -0,0 +1,189 @@
+package dao;
+
+import model.Employee;
+import model.User;
+import util.AppConfig;
+import util.Money;
+import util.OperationMetrics;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Creates the repositories selected by the "storage.type" setting:
+ * "jdbc" (default) uses the MySQL DAOs, "memory" uses in-process repositories so the
+ * application and benchmarks can run without a database, and "snapshot" serves employees
+ * read-only from the {@link RosterFile} named by "storage.snapshot.file" (default
+ * roster.snapshot) for offline reporting. The snapshot storage has the sample users of the
+ * memory storage.
+ *
+ * The memory storage starts with the same sample data as database.sql (users admin/admin123
+ * and emp/emp123, employee 1 "John Doe"), followed by "storage.memory.seedEmployees" generated
+ * employees (default 0) for load tests.
+ *
+ * Unless "metrics.enabled" is false, the repositories are wrapped by {@link OperationMetrics},
+ * which records call counts, errors and latency percentiles of every operation.
+ */
+public class RepositoryFactory {
+    private static final String STORAGE_TYPE = AppConfig.get("storage.type", "jdbc");
+    private static final boolean METRICS_ENABLED = AppConfig.getBoolean("metrics.enabled", true);
+    private static final String[] SEED_DESIGNATIONS = {
+            "Software Engineer", "Senior Engineer", "Manager", "Analyst", "QA Engineer", "HR Executive", "Accountant"
+    };
+    private static final String[] SEED_FIRST_NAMES = {
+            "Aarav", "Priya", "Rahul", "Ananya", "Vikram", "Sneha", "Arjun", "Kavya", "Rohan", "Meera",
+            "John", "Emma", "David", "Sara", "Michael", "Fatima", "Wei", "Olga", "Carlos", "Aisha"
+    };
+    private static final String[] SEED_LAST_NAMES = {
+            "Sharma", "Patel", "Reddy", "Iyer", "Nair", "Gupta", "Khan", "Singh", "Das", "Menon",
+            "Smith", "Johnson", "Brown", "Garcia", "Chen", "Ivanova", "Silva", "Okafor", "Fischer", "Rossi"
+    };
+
+    private static EmployeeRepository employeeRepository;
+    private static UserRepository userRepository;
+    private static AsyncEmployeeRepository asyncEmployeeRepository;
+    private static SessionStore sessionStore;
+
+    private RepositoryFactory() {
+    }
+
+    /**
+     * @return True if a storage without database is configured: the in-memory storage or a
+     * memory-mapped snapshot.
+     */
+    public static boolean isInMemory() {
+        return "memory".equalsIgnoreCase(STORAGE_TYPE) || isSnapshot();
+    }
+
+    private static boolean isSnapshot() {
+        return "snapshot".equalsIgnoreCase(STORAGE_TYPE);
+    }
+
+    /**
+     * Returns the configured employee repository, creating it on first use.
+     * All callers share one instance, so the memory storage keeps its data for the life of the JVM.
+     */
+    public static synchronized EmployeeRepository getEmployeeRepository() {
+        if (employeeRepository == null) {
+            if (isSnapshot()) {
+                String file = AppConfig.get("storage.snapshot.file", "roster.snapshot");
+                try {
+                    employeeRepository = new SnapshotEmployeeRepository(RosterFile.open(Paths.get(file)));
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot open roster snapshot " + file + ": " + e.getMessage(), e);
+                }
+            } else if (isInMemory()) {
+                InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+                seed(repository, AppConfig.getInt("storage.memory.seedEmployees", 0));
+                employeeRepository = repository;
+            } else if ("jdbc".equalsIgnoreCase(STORAGE_TYPE)) {
+                employeeRepository = new EmployeeDAO();
+            } else {
+                throw new IllegalStateException("Unknown storage.type: " + STORAGE_TYPE);
+            }
+            if (METRICS_ENABLED) {
+                employeeRepository = OperationMetrics.instrument(EmployeeRepository.class, employeeRepository);
+            }
+        }
+        return employeeRepository;
+    }
+
+    /**
+     * Returns an asynchronous facade over the configured employee repository, creating it on
+     * first use. At most "async.maxConcurrency" calls run at once (default: db.pool.maxSize for
+     * the MySQL storage, the number of processors for the memory storage), and calls time out
+     * after "async.timeoutMs" milliseconds (default 30000, 0 for none).
+     */
+    public static synchronized AsyncEmployeeRepository getAsyncEmployeeRepository() {
+        if (asyncEmployeeRepository == null) {
+            int defaultConcurrency = isInMemory()
+                    ? Runtime.getRuntime().availableProcessors()
+                    : AppConfig.getInt("db.pool.maxSize", 10);
+            asyncEmployeeRepository = new AsyncEmployeeRepository(getEmployeeRepository(),
+                    AppConfig.getInt("async.maxConcurrency", defaultConcurrency),
+                    AppConfig.getLong("async.timeoutMs", 30_000));
+        }
+        return asyncEmployeeRepository;
+    }
+
+    /**
+     * Returns the shared login session store, creating it on first use.
+     * Sessions expire after "session.ttlMs" without use (default 30 minutes) and
+     * "session.maxLifetimeMs" after login (default 12 hours).
+     */
+    public static synchronized SessionStore getSessionStore() {
+        if (sessionStore == null) {
+            sessionStore = new SessionStore(AppConfig.getLong("session.ttlMs", 30 * 60_000L),
+                    AppConfig.getLong("session.maxLifetimeMs", 12 * 60 * 60_000L));
+        }
+        return sessionStore;
+    }
+
+    /**
+     * Returns the configured user repository, creating it on first use.
+     */
+    public static synchronized UserRepository getUserRepository() {
+        if (userRepository == null) {
+            if (isInMemory()) {
+                InMemoryUserRepository repository = new InMemoryUserRepository();
+                repository.addUser(new User(1, "admin", "admin123", "admin", 0));
+                repository.addUser(new User(2, "emp", "emp123", "employee", 1));
+                userRepository = repository;
+            } else if ("jdbc".equalsIgnoreCase(STORAGE_TYPE)) {
+                userRepository = new UserDAO();
+            } else {
+                throw new IllegalStateException("Unknown storage.type: " + STORAGE_TYPE);
+            }
+            if (METRICS_ENABLED) {
+                userRepository = OperationMetrics.instrument(UserRepository.class, userRepository);
+            }
+        }
+        return userRepository;
+    }
+
+    /**
+     * Adds the sample employee and the given number of generated employees.
+     * Generated data is deterministic, so runs with the same count are comparable.
+     */
+    private static void seed(EmployeeRepository repository, int count) {
+        Employee sample = new Employee("John Doe", "Software Engineer",
+                Money.ofMajor(30000), Money.ofMajor(5000), Money.ofMajor(4000), Money.ofMajor(2000));
+        sample.setBonus(Money.ofMajor(3000));
+        sample.setTax(Money.ofMajor(1000));
+        repository.addEmployee(sample);
+
+        Random random = new Random(42);
+        List<Employee> batch = new ArrayList<>(Math.min(count, EmployeeRepository.DEFAULT_BATCH_SIZE));
+        for (int i = 1; i <= count; i++) {
+            batch.add(generateEmployee(random, i));
+            if (batch.size() == EmployeeRepository.DEFAULT_BATCH_SIZE) {
+                repository.addEmployees(batch);
+                batch.clear();
+            }
+        }
+        repository.addEmployees(batch);
+    }
+
+    /**
+     * Creates the i-th generated employee. Also used by the benchmarks module, so benchmarks
+     * and the memory storage see the same data distribution.
+     *
+     * @param random Source of the salary and designation values.
+     * @param i      Sequence number, appended to the name so names are unique.
+     * @return A new employee without ID.
+     */
+    static Employee generateEmployee(Random random, int i) {
+        long basic = Money.ofMajor(15000 + random.nextInt(186) * 1000);
+        String name = SEED_FIRST_NAMES[random.nextInt(SEED_FIRST_NAMES.length)] + " "
+                + SEED_LAST_NAMES[random.nextInt(SEED_LAST_NAMES.length)] + " " + i;
+        Employee emp = new Employee(name,
+                SEED_DESIGNATIONS[random.nextInt(SEED_DESIGNATIONS.length)],
+                basic, basic / 5, basic / 10, Money.ofMajor(1000 + random.nextInt(40) * 100));
+        emp.setBonus(random.nextInt(4) == 0 ? Money.ofMajor(random.nextInt(50) * 100) : 0);
+        emp.setTax(basic / 10);
+        return emp;
+    }
+}
@@ -0,0 +1,373 @@
+package dao;
+
+import model.Employee;
+import model.RosterSnapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Read-only binary copy of the employee table, opened as a memory-mapped file.
+ *
+ * The file holds a 64-byte header, one fixed-width record per employee in ID order, the report
+ * order (row numbers sorted by net salary descending, then ID) and a string table with each
+ * distinct name and designation stored once as UTF-8. A record is:
+ * <pre>
+ *   int empId, int name, int designation, int reserved,
+ *   long basicSalary, hra, da, deductions, bonus, tax, netSalary   (minor units)
+ * </pre>
+ * so any field of any row is read at a computed offset, without parsing. Opening the file only
+ * maps it; the operating system pages data in on first access, so reports and lookups can run
+ * straight after startup without a database.
+ *
+ * Instances are immutable and safe to share between threads.
+ */
+public final class RosterFile {
+    private static final int MAGIC = 0x50524F53; // "PROS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_SIZE = 72;
+    private static final int AMOUNTS_OFFSET = 16;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final MappedByteBuffer data;
+    private final int size;
+    private final int recordsOffset;
+    private final int reportOrderOffset;
+    private final int stringOffsetsOffset;
+    private final int stringDataOffset;
+    private final long createdAtMillis;
+    /** Strings decoded so far. Racing threads may decode the same string twice, which is harmless. */
+    private final String[] strings;
+
+    private RosterFile(MappedByteBuffer data) throws IOException {
+        this.data = data;
+        if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("Not a roster snapshot file");
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IOException("Unsupported roster snapshot version " + data.getInt(4));
+        }
+        this.size = data.getInt(8);
+        this.strings = new String[data.getInt(12)];
+        this.createdAtMillis = data.getLong(16);
+        this.recordsOffset = (int) data.getLong(24);
+        this.reportOrderOffset = (int) data.getLong(32);
+        this.stringOffsetsOffset = (int) data.getLong(40);
+        this.stringDataOffset = (int) data.getLong(48);
+        if (data.getLong(56) != data.capacity()) {
+            throw new IOException("Roster snapshot file is truncated");
+        }
+    }
+
+    /**
+     * Maps a snapshot file written by {@link #write(EmployeeRepository, Path)}.
+     *
+     * @param file The snapshot file.
+     * @return The opened snapshot.
+     * @throws IOException If the file cannot be read or is not a valid snapshot.
+     */
+    public static RosterFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Roster snapshot file is larger than 2 GB");
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            data.order(ByteOrder.LITTLE_ENDIAN);
+            return new RosterFile(data);
+        }
+    }
+
+    /**
+     * Writes all employees of a repository to a snapshot file.
+     * Records are written while the employees are streamed; only the string table and the
+     * sort keys of the report order are kept in memory. The file is written under a temporary
+     * name and then renamed, so readers never see a partial file.
+     *
+     * @param source Repository to read; employees must arrive in ID order.
+     * @param file   The snapshot file to create or replace.
+     * @return Number of employees written.
+     * @throws IOException If the employees cannot be read or the file cannot be written.
+     */
+    public static int write(EmployeeRepository source, Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        int count;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            SnapshotWriter writer = new SnapshotWriter(channel);
+            if (source.forEachEmployee(writer::add) < 0) {
+                throw new IOException("Employees could not be read");
+            }
+            count = writer.finish();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /** @return Number of employees in the snapshot. */
+    public int size() {
+        return size;
+    }
+
+    /** @return Time the snapshot was written, in milliseconds since the epoch. */
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    /** @return Employee ID at the given row; rows are in ID order. */
+    public int getEmpId(int row) {
+        return data.getInt(record(row));
+    }
+
+    /** @return Name at the given row. */
+    public String getName(int row) {
+        return string(data.getInt(record(row) + 4));
+    }
+
+    /** @return Designation at the given row. */
+    public String getDesignation(int row) {
+        return string(data.getInt(record(row) + 8));
+    }
+
+    /** @return Value of a salary column at the given row, in minor units. */
+    public long get(RosterSnapshot.Column column, int row) {
+        return data.getLong(record(row) + AMOUNTS_OFFSET + column.ordinal() * Long.BYTES);
+    }
+
+    /**
+     * @return The employee at the given row, as a new object.
+     */
+    public Employee getEmployee(int row) {
+        int offset = record(row);
+        Employee emp = new Employee(data.getInt(offset), string(data.getInt(offset + 4)), string(data.getInt(offset + 8)),
+                get(RosterSnapshot.Column.BASIC_SALARY, row), get(RosterSnapshot.Column.HRA, row),
+                get(RosterSnapshot.Column.DA, row), get(RosterSnapshot.Column.DEDUCTIONS, row));
+        emp.setBonus(get(RosterSnapshot.Column.BONUS, row));
+        emp.setTax(get(RosterSnapshot.Column.TAX, row));
+        emp.calculateNetSalary();
+        return emp;
+    }
+
+    /**
+     * Finds an employee by binary search over the ID-ordered records.
+     *
+     * @param empId The employee ID.
+     * @return The row, or -1 if there is no such employee.
+     */
+    public int findRow(int empId) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int id = getEmpId(mid);
+            if (id < empId) {
+                low = mid + 1;
+            } else if (id > empId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param rank Position in the salary report, from 0.
+     * @return The row at that position of the report order (net salary descending, then ID).
+     */
+    public int getReportRow(int rank) {
+        return data.getInt(reportOrderOffset + rank * Integer.BYTES);
+    }
+
+    /**
+     * Finds where the salary report continues after the given row, by binary search.
+     *
+     * @param netSalary Net salary of the last row shown, in minor units.
+     * @param empId     ID of the last row shown.
+     * @return The first rank ordered after that row (equal to {@link #size()} if none).
+     */
+    public int reportRankAfter(long netSalary, int empId) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int row = getReportRow(mid);
+            long net = get(RosterSnapshot.Column.NET_SALARY, row);
+            boolean before = net > netSalary || (net == netSalary && getEmpId(row) <= empId);
+            if (before) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int record(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+        return recordsOffset + row * RECORD_SIZE;
+    }
+
+    private String string(int index) {
+        String s = strings[index];
+        if (s == null) {
+            int start = data.getInt(stringOffsetsOffset + index * Integer.BYTES);
+            int end = data.getInt(stringOffsetsOffset + (index + 1) * Integer.BYTES);
+            byte[] bytes = new byte[end - start];
+            data.get(stringDataOffset + start, bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+            strings[index] = s;
+        }
+        return s;
+    }
+
+    /**
+     * Streams records to the file and writes the report order, string table and header at the end.
+     */
+    private static class SnapshotWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final Map<String, Integer> stringIndex = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private int[] empIds = new int[1024];
+        private long[] netSalaries = new long[1024];
+        private int size;
+        private long position = HEADER_SIZE;
+
+        SnapshotWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void add(Employee emp) {
+            try {
+                if (size > 0 && emp.getEmpId() <= empIds[size - 1]) {
+                    throw new IllegalStateException("Employees must be written in ID order");
+                }
+                if (size == empIds.length) {
+                    empIds = Arrays.copyOf(empIds, size * 2);
+                    netSalaries = Arrays.copyOf(netSalaries, size * 2);
+                }
+                emp.calculateNetSalary();
+                empIds[size] = emp.getEmpId();
+                netSalaries[size] = emp.getNetSalary();
+                size++;
+
+                ensureRoom(RECORD_SIZE);
+                buffer.putInt(emp.getEmpId())
+                        .putInt(intern(emp.getName()))
+                        .putInt(intern(emp.getDesignation()))
+                        .putInt(0)
+                        .putLong(emp.getBasicSalary())
+                        .putLong(emp.getHra())
+                        .putLong(emp.getDa())
+                        .putLong(emp.getDeductions())
+                        .putLong(emp.getBonus())
+                        .putLong(emp.getTax())
+                        .putLong(emp.getNetSalary());
+            } catch (IOException e) {
+                throw new IllegalStateException("Error writing roster snapshot: " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * @return Number of employees written.
+         */
+        int finish() throws IOException {
+            long reportOrderOffset = position + buffer.position();
+            long[] nets = netSalaries;
+            int[] ids = empIds;
+            int[] order = IntStream.range(0, size).boxed()
+                    .sorted(Comparator.<Integer>comparingLong(row -> nets[row]).reversed()
+                            .thenComparingInt(row -> ids[row]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            for (int row : order) {
+                ensureRoom(Integer.BYTES);
+                buffer.putInt(row);
+            }
+
+            List<byte[]> encoded = new ArrayList<>(strings.size());
+            for (String s : strings) {
+                encoded.add(s.getBytes(StandardCharsets.UTF_8));
+            }
+            long stringOffsetsOffset = position + buffer.position();
+            int offset = 0;
+            for (byte[] bytes : encoded) {
+                ensureRoom(Integer.BYTES);
+                buffer.putInt(offset);
+                offset += bytes.length;
+            }
+            ensureRoom(Integer.BYTES);
+            buffer.putInt(offset);
+            long stringDataOffset = position + buffer.position();
+            for (byte[] bytes : encoded) {
+                for (int written = 0; written < bytes.length; ) {
+                    ensureRoom(1);
+                    int chunk = Math.min(buffer.remaining(), bytes.length - written);
+                    buffer.put(bytes, written, chunk);
+                    written += chunk;
+                }
+            }
+            flush();
+            if (position > Integer.MAX_VALUE) {
+                throw new IOException("Roster snapshot would be larger than 2 GB");
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(strings.size())
+                    .putLong(System.currentTimeMillis())
+                    .putLong(HEADER_SIZE)
+                    .putLong(reportOrderOffset)
+                    .putLong(stringOffsetsOffset)
+                    .putLong(stringDataOffset)
+                    .putLong(position)
+                    .flip();
+            while (header.hasRemaining()) {
+                channel.write(header, HEADER_SIZE - header.remaining());
+            }
+            channel.force(false);
+            return size;
+        }
+
+        private int intern(String s) {
+            return stringIndex.computeIfAbsent(s, key -> {
+                strings.add(key);
+                return strings.size() - 1;
+            });
+        }
+
+        private void ensureRoom(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Data Access Object (DAO) class for employee change tracking: the row version counter,
+ * delete tombstones and the watermarks of delta exports (see db/migration/V7__row_versions.sql).
+ *
+ * Versions are taken from a single counter row that stays locked until the writing transaction
+ * ends. Writers therefore commit in version order, and once a reader has seen version v no
+ * transaction can still commit a version at or below v. The price is that employee writes are
+ * serialized from the moment they take a version, so writers take it as late as they can.
+ */
+public class RowVersionDAO {
+    /** Header line of the delta export: the change type and row version, then the report columns. */
+    static final String DELTA_CSV_HEADER = "Change,Row Version," + EmployeeDAO.CSV_HEADER;
+
+    /** Change type of an inserted or updated employee in the delta export. */
+    static final char CHANGE_UPSERT = 'U';
+
+    /** Change type of a deleted employee in the delta export. */
+    static final char CHANGE_DELETE = 'D';
+
+    private RowVersionDAO() {
+    }
+
+    /**
+     * Takes the next count row versions. The counter stays locked until the transaction ends,
+     * so this must run inside the transaction that writes the versioned rows.
+     *
+     * @param con   Connection with auto-commit disabled.
+     * @param count Number of versions to take.
+     * @return The first version taken; the others follow it consecutively.
+     */
+    static long nextVersions(Connection con, int count) throws SQLException {
+        long last;
+        try (PreparedStatement stmt = con.prepareStatement(
+                "SELECT last_version FROM row_version_counter WHERE name = 'employee' FOR UPDATE");
+             ResultSet rs = stmt.executeQuery()) {
+            if (!rs.next()) {
+                throw new SQLException("Row version counter is missing; run the database migrations");
+            }
+            last = rs.getLong(1);
+        }
+        try (PreparedStatement stmt = con.prepareStatement(
+                "UPDATE row_version_counter SET last_version = ? WHERE name = 'employee'")) {
+            stmt.setLong(1, last + count);
+            stmt.executeUpdate();
+        }
+        return last + 1;
+    }
+
+    /**
+     * Records that an employee was deleted, in the deleting transaction.
+     *
+     * @param con     Connection with auto-commit disabled.
+     * @param empId   The deleted employee.
+     * @param version Row version of the deletion, from {@link #nextVersions(Connection, int)}.
+     */
+    static void recordDeletion(Connection con, int empId, long version) throws SQLException {
+        try (PreparedStatement stmt = con.prepareStatement(
+                "INSERT INTO employee_tombstone (emp_id, row_version) VALUES (?, ?)")) {
+            stmt.setInt(1, empId);
+            stmt.setLong(2, version);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Returns the last row version written by a delta export, registering the export at
+     * version 0 if it has never run.
+     */
+    static long loadWatermark(Connection con, String exportName) throws SQLException {
+        try (PreparedStatement stmt = con.prepareStatement(
+                "SELECT last_version FROM export_watermark WHERE export_name = ?")) {
+            stmt.setString(1, exportName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getLong(1);
+                }
+            }
+        }
+        try (PreparedStatement stmt = con.prepareStatement("INSERT INTO export_watermark (export_name) VALUES (?)")) {
+            stmt.setString(1, exportName);
+            stmt.executeUpdate();
+        }
+        return 0;
+    }
+
+    /**
+     * Advances the watermark of a delta export after its file has been written.
+     *
+     * @param rows Number of change rows in the file.
+     */
+    static void saveWatermark(Connection con, String exportName, long version, int rows) throws SQLException {
+        try (PreparedStatement stmt = con.prepareStatement(
+                "UPDATE export_watermark SET last_version = ?, rows_exported = rows_exported + ? WHERE export_name = ?")) {
+            stmt.setLong(1, version);
+            stmt.setLong(2, rows);
+            stmt.setString(3, exportName);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Appends the delta export line of a deleted employee (without line separator): only the
+     * change type, version and ID are filled in.
+     *
+     * @return The given builder.
+     */
+    static StringBuilder appendDeletionRow(StringBuilder row, long version, int empId) {
+        return row.append(CHANGE_DELETE).append(',').append(version).append(',').append(empId).append(",,,,,,,,,");
+    }
+}
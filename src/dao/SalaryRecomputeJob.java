@@ -0,0 +1,221 @@
+package dao;
+
+import model.Employee;
+import util.DBConnection;
+import util.Money;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Bulk job that applies a salary policy (for example a DA revision) to every employee and
+ * recomputes net salary.
+ * Employees are read in ID-range chunks, the policy is applied on a fork-join pool and the
+ * changed salary components are written back with batched UPDATEs. net_salary is a generated
+ * column, so the database recomputes it from the written components. Every changed row gets a
+ * new row version, so delta exports pick up the revision.
+ *
+ * Each chunk is locked, updated and committed together with its designation summary delta and
+ * the job's row in job_checkpoint, so a job that stops part way can be run again with the same
+ * name and resumes after the last committed chunk. A completed job is not applied twice.
+ */
+public class SalaryRecomputeJob {
+    private static final String UPDATE_SQL = "UPDATE employee SET basic_salary = ?, hra = ?, da = ?, deductions = ?, bonus = ?, tax = ?, row_version = ? WHERE emp_id = ?";
+
+    /**
+     * A salary rule applied to each employee. Implementations change the salary components
+     * in place and must be thread-safe, since employees are processed in parallel.
+     */
+    @FunctionalInterface
+    public interface SalaryPolicy {
+        void apply(Employee emp);
+    }
+
+    private final String jobName;
+    private final SalaryPolicy policy;
+    private final int chunkSize;
+    private final int parallelism;
+    private final EmployeeDAO dao = new EmployeeDAO();
+
+    /**
+     * Creates a job.
+     *
+     * @param jobName     Unique name of this run, used as the checkpoint key.
+     * @param policy      Rule applied to every employee.
+     * @param chunkSize   Number of employees read, computed and committed together.
+     * @param parallelism Number of worker threads used for computing.
+     */
+    public SalaryRecomputeJob(String jobName, SalaryPolicy policy, int chunkSize, int parallelism) {
+        if (chunkSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Chunk size and parallelism must be positive");
+        }
+        this.jobName = jobName;
+        this.policy = policy;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Runs the job, or resumes it from its last committed chunk.
+     * Progress and throughput are printed after every chunk.
+     *
+     * @return Number of employees processed by this run, or -1 if the job failed.
+     */
+    public long run() {
+        ForkJoinPool workers = new ForkJoinPool(parallelism);
+        try {
+            Checkpoint checkpoint = loadCheckpoint();
+            if (checkpoint.completed) {
+                System.out.println("Job '" + jobName + "' has already completed (" + checkpoint.rowsProcessed + " rows).");
+                return 0;
+            }
+            if (checkpoint.lastEmpId > 0) {
+                System.out.println("Resuming job '" + jobName + "' after employee ID " + checkpoint.lastEmpId);
+            }
+
+            long start = System.nanoTime();
+            long processed = 0;
+            int chunkRows;
+            do {
+                chunkRows = processChunk(workers, checkpoint);
+                if (chunkRows > 0) {
+                    processed += chunkRows;
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    System.out.printf("Job '%s': %d rows (up to ID %d), %.0f rows/s%n",
+                            jobName, checkpoint.rowsProcessed, checkpoint.lastEmpId, processed / Math.max(seconds, 1e-9));
+                }
+            } while (chunkRows == chunkSize);
+
+            checkpoint.completed = true;
+            try (Connection con = DBConnection.getConnection()) {
+                saveCheckpoint(con, checkpoint);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Job '%s' completed: %d rows in %.1f s (%.0f rows/s)%n",
+                    jobName, processed, seconds, processed / Math.max(seconds, 1e-9));
+            return processed;
+        } catch (SQLException | ExecutionException e) {
+            System.err.println("Error running job '" + jobName + "': " + e.getMessage());
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Job '" + jobName + "' interrupted");
+            return -1;
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    /**
+     * Locks the next chunk, applies the policy in parallel and writes the chunk, its designation
+     * summary delta and the advanced checkpoint in a single transaction.
+     *
+     * @return Number of employees in the chunk (0 when the table is finished).
+     */
+    private int processChunk(ForkJoinPool workers, Checkpoint checkpoint)
+            throws SQLException, ExecutionException, InterruptedException {
+        List<Employee> chunk;
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement stmt = con.prepareStatement(UPDATE_SQL)) {
+            con.setAutoCommit(false);
+            try {
+                // The rows stay locked (SELECT ... FOR UPDATE) until the chunk commits, so an
+                // updateEmployee running meanwhile waits instead of being overwritten by the
+                // components read here.
+                chunk = dao.lockEmployeesAfterId(con, checkpoint.lastEmpId, chunkSize);
+                if (chunk.isEmpty()) {
+                    con.commit();
+                    return 0;
+                }
+
+                DesignationSummaryDAO.Delta delta = new DesignationSummaryDAO.Delta();
+                for (Employee emp : chunk) {
+                    delta.subtract(emp);
+                }
+                workers.submit(() -> chunk.parallelStream().forEach(emp -> {
+                    policy.apply(emp);
+                    emp.calculateNetSalary();
+                })).get();
+
+                long version = RowVersionDAO.nextVersions(con, chunk.size());
+                for (Employee emp : chunk) {
+                    delta.add(emp);
+                    stmt.setBigDecimal(1, Money.toDecimal(emp.getBasicSalary()));
+                    stmt.setBigDecimal(2, Money.toDecimal(emp.getHra()));
+                    stmt.setBigDecimal(3, Money.toDecimal(emp.getDa()));
+                    stmt.setBigDecimal(4, Money.toDecimal(emp.getDeductions()));
+                    stmt.setBigDecimal(5, Money.toDecimal(emp.getBonus()));
+                    stmt.setBigDecimal(6, Money.toDecimal(emp.getTax()));
+                    stmt.setLong(7, version++);
+                    stmt.setInt(8, emp.getEmpId());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                delta.applyTo(con);
+
+                checkpoint.lastEmpId = chunk.get(chunk.size() - 1).getEmpId();
+                checkpoint.rowsProcessed += chunk.size();
+                saveCheckpoint(con, checkpoint);
+                con.commit();
+            } catch (SQLException | ExecutionException | InterruptedException | RuntimeException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(true);
+            }
+        }
+
+        EmployeeCache cache = EmployeeDAO.getEmployeeCache();
+        for (Employee emp : chunk) {
+            cache.invalidate(emp.getEmpId());
+        }
+        return chunk.size();
+    }
+
+    private Checkpoint loadCheckpoint() throws SQLException {
+        try (Connection con = DBConnection.getConnection()) {
+            try (PreparedStatement stmt = con.prepareStatement(
+                    "SELECT last_emp_id, rows_processed, completed FROM job_checkpoint WHERE job_name = ?")) {
+                stmt.setString(1, jobName);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return new Checkpoint(rs.getInt(1), rs.getLong(2), rs.getBoolean(3));
+                    }
+                }
+            }
+            try (PreparedStatement stmt = con.prepareStatement("INSERT INTO job_checkpoint (job_name) VALUES (?)")) {
+                stmt.setString(1, jobName);
+                stmt.executeUpdate();
+            }
+            return new Checkpoint(0, 0, false);
+        }
+    }
+
+    private void saveCheckpoint(Connection con, Checkpoint checkpoint) throws SQLException {
+        try (PreparedStatement stmt = con.prepareStatement(
+                "UPDATE job_checkpoint SET last_emp_id = ?, rows_processed = ?, completed = ? WHERE job_name = ?")) {
+            stmt.setInt(1, checkpoint.lastEmpId);
+            stmt.setLong(2, checkpoint.rowsProcessed);
+            stmt.setBoolean(3, checkpoint.completed);
+            stmt.setString(4, jobName);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static class Checkpoint {
+        private int lastEmpId;
+        private long rowsProcessed;
+        private boolean completed;
+
+        Checkpoint(int lastEmpId, long rowsProcessed, boolean completed) {
+            this.lastEmpId = lastEmpId;
+            this.rowsProcessed = rowsProcessed;
+            this.completed = completed;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package dao;
+
+import model.User;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory store of login sessions. A session is created after a successful (slow, hashed)
+ * password check and identified by a random token; later requests present the token and are
+ * authenticated with a single hash map lookup.
+ *
+ * Sessions expire after ttlMillis without use, and in any case maxLifetimeMillis after login.
+ * Expired sessions are removed when looked up and by a background sweep.
+ * Thread-safe. Sessions are lost on restart, so users then log in again.
+ */
+public class SessionStore {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final long maxLifetimeMillis;
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * Creates a store.
+     *
+     * @param ttlMillis         Idle time after which a session expires.
+     * @param maxLifetimeMillis Time after login after which a session expires even if used.
+     */
+    public SessionStore(long ttlMillis, long maxLifetimeMillis) {
+        if (ttlMillis <= 0 || maxLifetimeMillis <= 0) {
+            throw new IllegalArgumentException("Session lifetimes must be positive");
+        }
+        this.ttlMillis = ttlMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "session-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1_000, Math.min(ttlMillis, 60_000));
+        sweeper.scheduleAtFixedRate(this::removeExpired, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts a session for an authenticated user.
+     *
+     * @param user The user returned by {@link UserRepository#login}.
+     * @return The session token (43 URL-safe characters).
+     */
+    public String createSession(User user) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        long now = System.currentTimeMillis();
+        sessions.put(token, new Session(user, now, now + maxLifetimeMillis));
+        return token;
+    }
+
+    /**
+     * Returns the user of a live session and extends its idle timeout.
+     *
+     * @param token Session token.
+     * @return The user, or null if the token is unknown or expired.
+     */
+    public User getUser(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (session.isExpired(now, ttlMillis)) {
+            sessions.remove(token, session);
+            return null;
+        }
+        session.lastUsed = now;
+        return session.user;
+    }
+
+    /**
+     * Ends a session (logout).
+     *
+     * @param token Session token.
+     * @return True if the session existed.
+     */
+    public boolean invalidate(String token) {
+        return token != null && sessions.remove(token) != null;
+    }
+
+    /**
+     * Ends every session of a user, e.g. after a password change.
+     *
+     * @param userId User ID.
+     */
+    public void invalidateUser(int userId) {
+        sessions.values().removeIf(session -> session.user.getUserId() == userId);
+    }
+
+    /** @return Number of stored sessions, including expired ones not yet swept. */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Stops the background sweep.
+     */
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    private void removeExpired() {
+        long now = System.currentTimeMillis();
+        sessions.values().removeIf(session -> session.isExpired(now, ttlMillis));
+    }
+
+    private static class Session {
+        private final User user;
+        private final long expiresAt;
+        private volatile long lastUsed;
+
+        Session(User user, long lastUsed, long expiresAt) {
+            this.user = user;
+            this.lastUsed = lastUsed;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now, long ttlMillis) {
+            return now >= expiresAt || now - lastUsed >= ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package dao;
+
+import model.DesignationSummary;
+import model.Employee;
+import model.EmployeeSummary;
+import model.RosterSnapshot;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Read-only {@link EmployeeRepository} over a memory-mapped {@link RosterFile}, for offline
+ * reporting without a database. Lookups by ID and report pages are binary searches in the file;
+ * name searches and filters scan it.
+ * Changes are rejected with an UnsupportedOperationException.
+ */
+public class SnapshotEmployeeRepository implements EmployeeRepository {
+    private final RosterFile file;
+
+    /**
+     * @param file The opened snapshot.
+     */
+    public SnapshotEmployeeRepository(RosterFile file) {
+        this.file = file;
+    }
+
+    @Override
+    public void addEmployee(Employee emp) {
+        throw readOnly();
+    }
+
+    @Override
+    public List<Integer> addEmployees(Collection<Employee> employees) {
+        throw readOnly();
+    }
+
+    @Override
+    public List<Integer> addEmployees(Collection<Employee> employees, int batchSize) {
+        throw readOnly();
+    }
+
+    @Override
+    public List<Integer> addEmployees(Iterator<Employee> employees, int batchSize) {
+        throw readOnly();
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        List<Employee> result = new ArrayList<>(file.size());
+        for (int row = 0; row < file.size(); row++) {
+            result.add(file.getEmployee(row));
+        }
+        return result;
+    }
+
+    @Override
+    public List<EmployeeSummary> getAllEmployeeSummaries() {
+        List<EmployeeSummary> result = new ArrayList<>(file.size());
+        for (int row = 0; row < file.size(); row++) {
+            result.add(toSummary(row));
+        }
+        return result;
+    }
+
+    @Override
+    public RosterSnapshot loadRosterSnapshot() {
+        RosterSnapshot.Builder builder = new RosterSnapshot.Builder(file.size());
+        for (int row = 0; row < file.size(); row++) {
+            builder.add(file.getEmpId(row), file.getDesignation(row),
+                    file.get(RosterSnapshot.Column.BASIC_SALARY, row), file.get(RosterSnapshot.Column.HRA, row),
+                    file.get(RosterSnapshot.Column.DA, row), file.get(RosterSnapshot.Column.DEDUCTIONS, row),
+                    file.get(RosterSnapshot.Column.BONUS, row), file.get(RosterSnapshot.Column.TAX, row));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public int forEachEmployee(Consumer<? super Employee> action) {
+        for (int row = 0; row < file.size(); row++) {
+            action.accept(file.getEmployee(row));
+        }
+        return file.size();
+    }
+
+    @Override
+    public Employee getEmployeeById(int empId) {
+        int row = file.findRow(empId);
+        return row < 0 ? null : file.getEmployee(row);
+    }
+
+    @Override
+    public List<Employee> getEmployeesByIds(List<Integer> ids) {
+        List<Employee> result = new ArrayList<>(ids.size());
+        ids.stream().distinct().sorted().forEach(empId -> {
+            Employee emp = getEmployeeById(empId);
+            if (emp != null) {
+                result.add(emp);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public List<Employee> getEmployeesByName(String name) {
+        return getEmployeesByName(name, DEFAULT_SEARCH_LIMIT);
+    }
+
+    @Override
+    public List<Employee> getEmployeesByName(String name, int limit) {
+        List<Employee> result = new ArrayList<>();
+        String needle = name == null ? "" : name;
+        for (int row = 0; row < file.size() && result.size() < limit; row++) {
+            if (containsIgnoreCase(file.getName(row), needle)) {
+                result.add(file.getEmployee(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<EmployeeSummary> getEmployeeSummariesByName(String name) {
+        List<EmployeeSummary> result = new ArrayList<>();
+        String needle = name == null ? "" : name;
+        for (int row = 0; row < file.size() && result.size() < DEFAULT_SEARCH_LIMIT; row++) {
+            if (containsIgnoreCase(file.getName(row), needle)) {
+                result.add(toSummary(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Does nothing: names are searched in the snapshot directly.
+     */
+    @Override
+    public void buildNameIndex() {
+    }
+
+    /**
+     * Retrieves employees filtered by designation and salary range.
+     * Designations are compared ignoring case, like the default MySQL collation.
+     */
+    @Override
+    public List<Employee> getFilteredEmployees(String designation, long minSalary, long maxSalary) {
+        boolean byDesignation = designation != null && !designation.isBlank();
+        List<Employee> result = new ArrayList<>();
+        for (int row = 0; row < file.size(); row++) {
+            long net = file.get(RosterSnapshot.Column.NET_SALARY, row);
+            if ((minSalary < 0 || net >= minSalary)
+                    && (maxSalary < 0 || net <= maxSalary)
+                    && (!byDesignation || file.getDesignation(row).equalsIgnoreCase(designation))) {
+                result.add(file.getEmployee(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Employee> getReportPage(int pageSize) {
+        return reportPage(0, pageSize);
+    }
+
+    @Override
+    public List<Employee> getReportPage(long afterNetSalary, int afterEmpId, int pageSize) {
+        return reportPage(file.reportRankAfter(afterNetSalary, afterEmpId), pageSize);
+    }
+
+    /**
+     * Retrieves the highest or lowest paid employees by walking the report order stored in the
+     * file from either end.
+     */
+    @Override
+    public List<Employee> getTopEarners(String designation, int count, boolean highest) {
+        boolean byDesignation = designation != null && !designation.isBlank();
+        List<Employee> result = new ArrayList<>(Math.min(count, 1024));
+        for (int i = 0; i < file.size() && result.size() < count; i++) {
+            int row = file.getReportRow(highest ? i : file.size() - 1 - i);
+            if (!byDesignation || file.getDesignation(row).equalsIgnoreCase(designation)) {
+                result.add(file.getEmployee(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<DesignationSummary> getDesignationSummaries() {
+        Map<String, long[]> totals = new TreeMap<>();
+        for (int row = 0; row < file.size(); row++) {
+            long[] t = totals.computeIfAbsent(file.getDesignation(row), k -> new long[8]);
+            t[0]++;
+            t[1] += file.get(RosterSnapshot.Column.BASIC_SALARY, row);
+            t[2] += file.get(RosterSnapshot.Column.HRA, row);
+            t[3] += file.get(RosterSnapshot.Column.DA, row);
+            t[4] += file.get(RosterSnapshot.Column.DEDUCTIONS, row);
+            t[5] += file.get(RosterSnapshot.Column.BONUS, row);
+            t[6] += file.get(RosterSnapshot.Column.TAX, row);
+            t[7] += file.get(RosterSnapshot.Column.NET_SALARY, row);
+        }
+
+        List<DesignationSummary> summaries = new ArrayList<>(totals.size());
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            long[] t = entry.getValue();
+            summaries.add(new DesignationSummary(entry.getKey(), (int) t[0], t[1], t[2], t[3], t[4], t[5], t[6], t[7]));
+        }
+        return summaries;
+    }
+
+    @Override
+    public void updateEmployee(int empId, Employee emp) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean deleteEmployee(int empId) {
+        throw readOnly();
+    }
+
+    /**
+     * Exports the employee report to a CSV file, in employee ID order.
+     */
+    @Override
+    public int exportReportToCSV(String fileName) {
+        String newLine = System.lineSeparator();
+        StringBuilder row = new StringBuilder(256);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                Files.newOutputStream(Paths.get(fileName)), StandardCharsets.UTF_8), EmployeeDAO.CSV_BUFFER_SIZE)) {
+            out.write(EmployeeDAO.CSV_HEADER);
+            out.write(newLine);
+            for (int r = 0; r < file.size(); r++) {
+                row.setLength(0);
+                EmployeeDAO.appendCsvRow(row, file.getEmpId(r), file.getName(r), file.getDesignation(r),
+                        file.get(RosterSnapshot.Column.BASIC_SALARY, r), file.get(RosterSnapshot.Column.HRA, r),
+                        file.get(RosterSnapshot.Column.DA, r), file.get(RosterSnapshot.Column.DEDUCTIONS, r),
+                        file.get(RosterSnapshot.Column.BONUS, r), file.get(RosterSnapshot.Column.TAX, r)).append(newLine);
+                out.append(row);
+            }
+        } catch (Exception e) {
+            System.err.println("Error exporting report: " + e.getMessage());
+            return -1;
+        }
+        return file.size();
+    }
+
+    /**
+     * Always fails: a snapshot holds no row versions, so there are no changes to export.
+     *
+     * @return -1.
+     */
+    @Override
+    public int exportChangesToCSV(String fileName, String exportName) {
+        System.err.println("Error exporting changes: the snapshot storage does not track changes");
+        return -1;
+    }
+
+    private List<Employee> reportPage(int fromRank, int pageSize) {
+        int end = (int) Math.min(file.size(), (long) fromRank + pageSize);
+        List<Employee> page = new ArrayList<>(Math.max(0, end - fromRank));
+        for (int rank = fromRank; rank < end; rank++) {
+            page.add(file.getEmployee(file.getReportRow(rank)));
+        }
+        return page;
+    }
+
+    private EmployeeSummary toSummary(int row) {
+        return new EmployeeSummary(file.getEmpId(row), file.getName(row), file.getDesignation(row),
+                file.get(RosterSnapshot.Column.NET_SALARY, row));
+    }
+
+    /** Case-insensitive substring test that, unlike toLowerCase().contains(), allocates nothing. */
+    private static boolean containsIgnoreCase(String text, String part) {
+        for (int i = 0, last = text.length() - part.length(); i <= last; i++) {
+            if (text.regionMatches(true, i, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("The snapshot storage is read-only");
+    }
+}
@@ -2,56 +2,93 @@ package dao;
 
 import model.User;
 import util.DBConnection;
+import util.OperationMetrics;
+import util.PasswordHasher;
 
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 
 /**
  * Data Access Object (DAO) class to handle User-related database operations.
+ * This is the MySQL implementation of {@link UserRepository}.
+ * Passwords are stored as salted PBKDF2 hashes (see {@link PasswordHasher}); legacy plaintext
+ * passwords are still accepted and replaced by a hash at the user's next successful login.
  */
-public class UserDAO {
-    private Connection con;
-    /**
-     * Constructor initializes database connection.
-     */
-    public UserDAO() {
-
-        con = DBConnection.getConnection();
-    }
+public class UserDAO implements UserRepository {
     /**
      * Authenticates a user based on username and password.
+     * The user is looked up by username and the password is verified in Java, so the password
+     * never appears in a WHERE clause.
      *
      * @param username The username input by the user.
      * @param password The password input by the user.
-     * @return User object if login is successful, null otherwise.
+     * @return User object if login is successful, null otherwise. Its password field holds the stored hash.
      */
+    @Override
     public User login(String username, String password) {
         User user = null;
+        String query = "SELECT user_id, username, password, role, employee_id FROM users WHERE username = ?";
 
-        try {
-            String query = "SELECT * FROM users WHERE username = ? AND password = ?";
-            PreparedStatement pst = con.prepareStatement(query);
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement pst = con.prepareStatement(query)) {
             pst.setString(1, username);
-            pst.setString(2, password);
-
-            ResultSet rs = pst.executeQuery();
-
-            if (rs.next()) {
-                user = new User(
-                        rs.getInt("user_id"),
-                        rs.getString("username"),
-                        rs.getString("password"),
-                        rs.getString("role"),
-                        rs.getInt("employee_id")
-                );
+
+            try (ResultSet rs = pst.executeQuery()) {
+                if (rs.next()) {
+                    user = new User(
+                            rs.getInt(1),
+                            rs.getString(2),
+                            rs.getString(3),
+                            rs.getString(4),
+                            rs.getInt(5)
+                    );
+                }
             }
+        } catch (SQLException e) {
+            System.err.println("Error during login: " + e.getMessage());
+            OperationMetrics.markFailed();
+            return null;
+        }
 
-        } catch (Exception e) {
-            e.printStackTrace();
+        // Hashing is deliberately slow, so it runs after the pooled connection has been returned.
+        if (user == null) {
+            PasswordHasher.verifyAgainstDummy(password);
+            return null;
+        }
+        if (!PasswordHasher.verify(password, user.getPassword())) {
+            return null;
+        }
+        if (PasswordHasher.needsRehash(user.getPassword())) {
+            try {
+                upgradePassword(user, password);
+            } catch (SQLException e) {
+                System.err.println("Error during login: " + e.getMessage());
+                OperationMetrics.markFailed();
+                return null;
+            }
         }
 
         return user;
     }
+
+    /**
+     * Replaces a plaintext or outdated password hash with a hash at the configured cost.
+     * The update only applies if the stored value has not changed since it was verified.
+     * The new hash is computed before a connection is borrowed.
+     */
+    private void upgradePassword(User user, String password) throws SQLException {
+        String hash = PasswordHasher.hash(password);
+        try (Connection con = DBConnection.getConnection();
+             PreparedStatement pst = con.prepareStatement("UPDATE users SET password = ? WHERE user_id = ? AND password = ?")) {
+            pst.setString(1, hash);
+            pst.setInt(2, user.getUserId());
+            pst.setString(3, user.getPassword());
+            if (pst.executeUpdate() > 0) {
+                user.setPassword(hash);
+            }
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package dao;
+
+import model.User;
+
+/**
+ * Storage operations for application users, independent of where they are stored.
+ * Use {@link RepositoryFactory} to get the configured implementation.
+ */
+public interface UserRepository {
+    /**
+     * Authenticates a user based on username and password.
+     *
+     * @param username The username input by the user.
+     * @param password The password input by the user.
+     * @return User object if login is successful, null otherwise.
+     */
+    User login(String username, String password);
+}
@@ -0,0 +1,25 @@
+-- Baseline schema, matching the original database.sql. net_salary is still a plain column here;
+-- V2 turns it into the generated column that the current database.sql declares directly.
+-- Existing installations already have these tables, so every statement is idempotent.
+
+CREATE TABLE IF NOT EXISTS employee (
+    emp_id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(50) NOT NULL,
+    designation VARCHAR(50) NOT NULL,
+    basic_salary DOUBLE NOT NULL,
+    hra DOUBLE NOT NULL,
+    da DOUBLE NOT NULL,
+    deductions DOUBLE NOT NULL,
+    bonus DOUBLE DEFAULT 0,
+    tax DOUBLE DEFAULT 0,
+    net_salary DOUBLE
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id INT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(50) UNIQUE NOT NULL,
+    password VARCHAR(100) NOT NULL,
+    role ENUM('admin', 'employee') NOT NULL,
+    employee_id INT,
+    FOREIGN KEY (employee_id) REFERENCES employee(emp_id) ON DELETE SET NULL
+);
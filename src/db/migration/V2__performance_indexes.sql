@@ -0,0 +1,11 @@
+-- Net salary is derived by the database so it can never drift from its components.
+-- The expression matches Employee.calculateNetSalary().
+ALTER TABLE employee
+    MODIFY net_salary DOUBLE
+    GENERATED ALWAYS AS ((basic_salary + hra + da + COALESCE(bonus, 0)) - (deductions + COALESCE(tax, 0))) STORED;
+
+-- getFilteredEmployees: designation equality plus net salary range.
+CREATE INDEX idx_employee_designation_net ON employee (designation, net_salary);
+
+-- Salary report keyset paging (ORDER BY net_salary DESC, emp_id) and salary-range-only filters.
+CREATE INDEX idx_employee_net_emp ON employee (net_salary DESC, emp_id);
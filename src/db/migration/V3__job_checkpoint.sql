@@ -0,0 +1,9 @@
+-- Progress of restartable bulk jobs such as SalaryRecomputeJob.
+-- last_emp_id is updated in the same transaction as each committed chunk.
+CREATE TABLE IF NOT EXISTS job_checkpoint (
+    job_name VARCHAR(100) PRIMARY KEY,
+    last_emp_id INT NOT NULL DEFAULT 0,
+    rows_processed BIGINT NOT NULL DEFAULT 0,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
@@ -0,0 +1,22 @@
+-- Per-designation payroll totals, maintained incrementally by EmployeeDAO in the same
+-- transaction as every employee insert, update and delete.
+CREATE TABLE IF NOT EXISTS designation_summary (
+    designation VARCHAR(50) PRIMARY KEY,
+    headcount INT NOT NULL DEFAULT 0,
+    total_basic_salary DOUBLE NOT NULL DEFAULT 0,
+    total_hra DOUBLE NOT NULL DEFAULT 0,
+    total_da DOUBLE NOT NULL DEFAULT 0,
+    total_deductions DOUBLE NOT NULL DEFAULT 0,
+    total_bonus DOUBLE NOT NULL DEFAULT 0,
+    total_tax DOUBLE NOT NULL DEFAULT 0,
+    total_net_salary DOUBLE NOT NULL DEFAULT 0
+);
+
+-- Seed from the existing rows.
+DELETE FROM designation_summary;
+INSERT INTO designation_summary (designation, headcount, total_basic_salary, total_hra, total_da,
+                                 total_deductions, total_bonus, total_tax, total_net_salary)
+SELECT designation, COUNT(*), SUM(basic_salary), SUM(hra), SUM(da),
+       SUM(deductions), SUM(COALESCE(bonus, 0)), SUM(COALESCE(tax, 0)), SUM(net_salary)
+FROM employee
+GROUP BY designation;
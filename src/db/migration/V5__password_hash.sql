@@ -0,0 +1,3 @@
+-- Passwords are stored as PBKDF2 hashes ("pbkdf2$iterations$salt$hash", see util.PasswordHasher).
+-- Existing plaintext passwords keep working and are replaced by a hash at each user's next login.
+ALTER TABLE users MODIFY password VARCHAR(255) NOT NULL;
@@ -0,0 +1,31 @@
+-- Salary amounts become exact DECIMAL values instead of binary DOUBLE, so sums no longer
+-- drift by fractions of a paisa. The application reads them as long minor units
+-- (CAST(column * 100 AS SIGNED)) and binds them as two-decimal BigDecimals.
+-- Every statement can be run again safely.
+ALTER TABLE employee
+    MODIFY basic_salary DECIMAL(15, 2) NOT NULL,
+    MODIFY hra DECIMAL(15, 2) NOT NULL,
+    MODIFY da DECIMAL(15, 2) NOT NULL,
+    MODIFY deductions DECIMAL(15, 2) NOT NULL,
+    MODIFY bonus DECIMAL(15, 2) DEFAULT 0,
+    MODIFY tax DECIMAL(15, 2) DEFAULT 0,
+    MODIFY net_salary DECIMAL(15, 2)
+    GENERATED ALWAYS AS ((basic_salary + hra + da + COALESCE(bonus, 0)) - (deductions + COALESCE(tax, 0))) STORED;
+
+ALTER TABLE designation_summary
+    MODIFY total_basic_salary DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    MODIFY total_hra DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    MODIFY total_da DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    MODIFY total_deductions DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    MODIFY total_bonus DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    MODIFY total_tax DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    MODIFY total_net_salary DECIMAL(19, 2) NOT NULL DEFAULT 0;
+
+-- Recompute the totals exactly; the DOUBLE running sums may have drifted.
+DELETE FROM designation_summary;
+INSERT INTO designation_summary (designation, headcount, total_basic_salary, total_hra, total_da,
+                                 total_deductions, total_bonus, total_tax, total_net_salary)
+SELECT designation, COUNT(*), SUM(basic_salary), SUM(hra), SUM(da),
+       SUM(deductions), SUM(COALESCE(bonus, 0)), SUM(COALESCE(tax, 0)), SUM(net_salary)
+FROM employee
+GROUP BY designation;
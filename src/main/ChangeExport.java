@@ -0,0 +1,37 @@
+package main;
+
+import dao.EmployeeRepository;
+import dao.RepositoryFactory;
+import util.DBConnection;
+import util.SchemaMigrator;
+
+/**
+ * Command-line entry point for incremental exports: writes the employees added, updated or
+ * deleted since the previous run with the same export name to a CSV file
+ * (default changes-&lt;exportName&gt;.csv), for example from a nightly job feeding a downstream system.
+ *
+ * Usage: java main.ChangeExport &lt;exportName&gt; [file]
+ */
+public class ChangeExport {
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: java main.ChangeExport <exportName> [file]");
+            return;
+        }
+        String exportName = args[0];
+        String file = args.length > 1 ? args[1] : "changes-" + exportName + ".csv";
+
+        if (!RepositoryFactory.isInMemory()) {
+            SchemaMigrator.migrate();
+        }
+        EmployeeRepository dao = RepositoryFactory.getEmployeeRepository();
+        long start = System.nanoTime();
+        int rows = dao.exportChangesToCSV(file, exportName);
+        DBConnection.shutdown();
+        if (rows < 0) {
+            System.exit(1);
+        }
+        System.out.printf("Wrote %d changes for export '%s' to %s in %.0f ms%n",
+                rows, exportName, file, (System.nanoTime() - start) / 1e6);
+    }
+}
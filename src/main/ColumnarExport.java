@@ -0,0 +1,74 @@
+package main;
+
+import dao.ColumnarFile;
+import dao.EmployeeRepository;
+import dao.RepositoryFactory;
+import model.RosterSnapshot;
+import util.DBConnection;
+import util.Money;
+import util.SchemaMigrator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Command-line entry point that exports the employee table to a columnar file (see
+ * {@link ColumnarFile}), or with "--summary" loads such a file back and prints headcount and
+ * net salary per designation.
+ *
+ * Usage: java main.ColumnarExport [file]   (default EmployeeReport.pcol)
+ *        java main.ColumnarExport --summary file
+ */
+public class ColumnarExport {
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--summary")) {
+            if (args.length < 2) {
+                System.out.println("Usage: java main.ColumnarExport --summary <file>");
+                return;
+            }
+            printSummary(Paths.get(args[1]));
+            return;
+        }
+        Path file = Paths.get(args.length > 0 ? args[0] : "EmployeeReport.pcol");
+
+        if (!RepositoryFactory.isInMemory()) {
+            SchemaMigrator.migrate();
+        }
+        EmployeeRepository dao = RepositoryFactory.getEmployeeRepository();
+        long start = System.nanoTime();
+        try {
+            int rows = ColumnarFile.write(dao, file);
+            System.out.printf("Wrote %d employees (%d bytes) to %s in %.0f ms%n",
+                    rows, Files.size(file), file, (System.nanoTime() - start) / 1e6);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error writing columnar export: " + e.getMessage());
+            DBConnection.shutdown();
+            System.exit(1);
+        }
+        DBConnection.shutdown();
+    }
+
+    private static void printSummary(Path file) {
+        long start = System.nanoTime();
+        RosterSnapshot snapshot;
+        try {
+            snapshot = ColumnarFile.open(file).loadRosterSnapshot();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading columnar export: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        System.out.printf("Loaded %d employees from %s in %.0f ms%n", snapshot.size(), file, (System.nanoTime() - start) / 1e6);
+
+        Map<String, Integer> counts = snapshot.countByDesignation();
+        Map<String, Long> totals = snapshot.sumByDesignation(RosterSnapshot.Column.NET_SALARY);
+        System.out.printf("%-25s %10s %20s%n", "Designation", "Headcount", "Net Salary");
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            System.out.printf("%-25s %10d %20s%n", entry.getKey(), entry.getValue(), Money.format(totals.get(entry.getKey())));
+        }
+        System.out.printf("%-25s %10d %20s%n", "Total", snapshot.size(), Money.format(snapshot.sum(RosterSnapshot.Column.NET_SALARY)));
+    }
+}
@@ -0,0 +1,131 @@
+package main;
+
+import dao.EmployeeDAO;
+import model.Employee;
+import util.DBConnection;
+import util.Money;
+import util.SchemaMigrator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures the employee filter and report queries with and without the indexes added by
+ * migration V2, on the configured MySQL database.
+ * The "before" run forces MySQL to ignore the indexes (IGNORE INDEX), so both runs use the same data.
+ *
+ * Usage: java main.IndexBenchmark [rowsToInsert] [iterations]
+ */
+public class IndexBenchmark {
+    private static final String IGNORE_INDEXES = "IGNORE INDEX (idx_employee_designation_net, idx_employee_net_emp)";
+    private static final String[] DESIGNATIONS = {
+            "Software Engineer", "Senior Engineer", "Manager", "Analyst", "Accountant",
+            "HR Executive", "Tester", "Architect", "Sales Executive", "Support Engineer"
+    };
+
+    public static void main(String[] args) {
+        int rowsToInsert = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        SchemaMigrator.migrate();
+        if (rowsToInsert > 0) {
+            seed(rowsToInsert);
+        }
+
+        System.out.printf("%-32s %-8s %12s %8s  %s%n", "Query", "Indexes", "Avg ms", "Rows", "Plan (type / key)");
+        run("designation + net salary range",
+                "SELECT * FROM employee %s WHERE designation = ? AND net_salary >= ? AND net_salary <= ?",
+                iterations, "Manager", 50_000.0, 60_000.0);
+        run("designation only",
+                "SELECT * FROM employee %s WHERE designation = ?",
+                iterations, "Analyst");
+        run("net salary range",
+                "SELECT * FROM employee %s WHERE net_salary >= ? AND net_salary <= ?",
+                iterations, 90_000.0, 91_000.0);
+        run("report first page",
+                "SELECT * FROM employee %s ORDER BY net_salary DESC, emp_id LIMIT 100",
+                iterations);
+        run("report next page (keyset)",
+                "SELECT * FROM employee %s WHERE net_salary < ? OR (net_salary = ? AND emp_id > ?) ORDER BY net_salary DESC, emp_id LIMIT 100",
+                iterations, 50_000.0, 50_000.0, 0);
+
+        DBConnection.shutdown();
+    }
+
+    private static void seed(int rows) {
+        Random random = new Random(42);
+        List<Employee> batch = new ArrayList<>();
+        EmployeeDAO dao = new EmployeeDAO();
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            Employee emp = new Employee("Employee " + i, DESIGNATIONS[random.nextInt(DESIGNATIONS.length)],
+                    Money.ofMajor(20_000 + random.nextInt(80_000)), Money.ofMajor(2_000 + random.nextInt(8_000)),
+                    Money.ofMajor(1_000 + random.nextInt(5_000)), Money.ofMajor(random.nextInt(3_000)));
+            emp.setBonus(Money.ofMajor(random.nextInt(5_000)));
+            emp.setTax(Money.ofMajor(random.nextInt(4_000)));
+            batch.add(emp);
+            if (batch.size() == EmployeeDAO.DEFAULT_BATCH_SIZE) {
+                dao.addEmployees(batch);
+                batch.clear();
+            }
+        }
+        dao.addEmployees(batch);
+        System.out.printf("Inserted %d employees in %.1f s%n%n", rows, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void run(String name, String sqlTemplate, int iterations, Object... params) {
+        measure(name, "without", String.format(sqlTemplate, IGNORE_INDEXES), iterations, params);
+        measure(name, "with", String.format(sqlTemplate, ""), iterations, params);
+    }
+
+    private static void measure(String name, String label, String sql, int iterations, Object... params) {
+        try (Connection con = DBConnection.getConnection()) {
+            String plan = explain(con, sql, params);
+            int rows = 0;
+            for (int i = 0; i < Math.max(1, iterations / 5); i++) {
+                rows = execute(con, sql, params);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                rows = execute(con, sql, params);
+            }
+            double avgMillis = (System.nanoTime() - start) / 1e6 / iterations;
+            System.out.printf("%-32s %-8s %12.3f %8d  %s%n", name, label, avgMillis, rows, plan);
+        } catch (SQLException e) {
+            System.err.println("Error running benchmark query '" + name + "': " + e.getMessage());
+        }
+    }
+
+    private static int execute(Connection con, String sql, Object... params) throws SQLException {
+        try (PreparedStatement stmt = con.prepareStatement(sql)) {
+            bind(stmt, params);
+            int rows = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows++;
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static String explain(Connection con, String sql, Object... params) throws SQLException {
+        try (PreparedStatement stmt = con.prepareStatement("EXPLAIN " + sql)) {
+            bind(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString("type") + " / " + rs.getString("key") : "";
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement stmt, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            stmt.setObject(i + 1, params[i]);
+        }
+    }
+}
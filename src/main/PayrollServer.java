@@ -0,0 +1,532 @@
+package main;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dao.EmployeeRepository;
+import dao.RepositoryFactory;
+import dao.SessionStore;
+import dao.UserRepository;
+import model.DesignationSummary;
+import model.Employee;
+import model.EmployeeSummary;
+import model.User;
+import util.AppConfig;
+import util.Json;
+import util.Money;
+import util.NumberFormatter;
+import util.SchemaMigrator;
+import util.TaskExecutors;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Embedded HTTP server exposing the payroll menu operations as a JSON API, so many users can
+ * work at the same time. Built on the JDK's com.sun.net.httpserver.
+ *
+ * On the project's Java 17 target requests are handled on a fixed pool of "server.threads"
+ * platform threads (default 64; see {@link TaskExecutors}), so at most that many requests are in
+ * progress and the rest wait in the executor's queue. A handler blocks its thread while it waits
+ * for a pooled connection or a JDBC call and while it hashes a login password. The default is
+ * several times the connection pool size, so requests that only check a session or hash a
+ * password keep being served while database-bound ones wait for a connection. Only on a JDK 21+
+ * runtime does each request get its own virtual thread.
+ *
+ * Clients log in once with POST /api/login, which checks the password with
+ * {@link UserRepository#login} (a deliberately slow hash) and returns a session token. Every
+ * other request sends "Authorization: Bearer &lt;token&gt;" and is authenticated by a lookup in
+ * the in-memory {@link SessionStore}, without touching the database.
+ *
+ * Endpoints:
+ * POST   /api/login              - {"username": ..., "password": ...}; returns {"token": ...}.
+ * POST   /api/logout             - Ends the session.
+ * GET    /api/me                 - The logged-in user's own employee record (any role).
+ * GET    /api/employees          - All employees, highest net salary first, streamed page by page (admin).
+ *        ?name=text              - Employees whose name contains the text (admin).
+ *        ?designation=&amp;minSalary=&amp;maxSalary= - Filtered employees (admin).
+ * GET    /api/employees/{id}     - One employee (admin, or the employee themselves).
+ * POST   /api/employees          - Add an employee from a JSON object (admin).
+ * PUT    /api/employees/{id}     - Replace an employee's details (admin).
+ * DELETE /api/employees/{id}     - Delete an employee (admin).
+ * GET    /api/designations       - Headcount and payroll totals per designation (admin).
+ *
+ * Usage: java main.PayrollServer [port]
+ */
+public class PayrollServer {
+    private static final String JSON_TYPE = "application/json; charset=utf-8";
+    /** Amounts must fit the DECIMAL(15,2) salary columns. */
+    private static final double MAX_AMOUNT = 9_999_999_999_999.99;
+    /**
+     * Number of platform threads handling requests when virtual threads are not available (always
+     * on Java 17). Can be changed with "server.threads".
+     */
+    private static final int SERVER_THREADS = AppConfig.getInt("server.threads", 64);
+
+    static {
+        // The JDK server writes response headers and body separately. Without TCP_NODELAY, Nagle's
+        // algorithm and delayed ACKs hold each keep-alive response back by ~40 ms.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final EmployeeRepository dao;
+    private final UserRepository userDao;
+    private final SessionStore sessions;
+
+    /**
+     * Creates a server; call {@link #start()} to accept requests.
+     *
+     * @param port    TCP port, or 0 for any free port.
+     * @param dao     Employee storage.
+     * @param userDao  User storage, used to check credentials at login.
+     * @param sessions Store of the sessions created at login.
+     * @throws IOException If the port cannot be bound.
+     */
+    public PayrollServer(int port, EmployeeRepository dao, UserRepository userDao, SessionStore sessions) throws IOException {
+        this.dao = dao;
+        this.userDao = userDao;
+        this.sessions = sessions;
+        this.server = HttpServer.create(new InetSocketAddress(port), AppConfig.getInt("server.backlog", 1024));
+        this.executor = TaskExecutors.newTaskExecutor("http", SERVER_THREADS);
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : AppConfig.getInt("server.port", 8080);
+        if (!RepositoryFactory.isInMemory()) {
+            SchemaMigrator.migrate();
+        }
+        EmployeeRepository dao = RepositoryFactory.getEmployeeRepository();
+        dao.buildNameIndex();
+
+        PayrollServer payrollServer = new PayrollServer(port, dao, RepositoryFactory.getUserRepository(),
+                RepositoryFactory.getSessionStore());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> payrollServer.stop(1)));
+        payrollServer.start();
+        System.out.println("Payroll server listening on port " + payrollServer.getPort()
+                + (TaskExecutors.isVirtualThreadSupported() ? " (virtual threads)" : " (" + SERVER_THREADS + " threads)"));
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server, waiting up to the given time for running requests.
+     *
+     * @param delaySeconds Maximum time to wait.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    /** @return The port the server is bound to. */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            if ("/api/login".equals(path)) {
+                if ("POST".equals(exchange.getRequestMethod())) {
+                    login(exchange);
+                } else {
+                    sendError(exchange, 405, "Method not allowed");
+                }
+                return;
+            }
+            User user = sessions.getUser(bearerToken(exchange));
+            if (user == null) {
+                exchange.getResponseHeaders().set("WWW-Authenticate", "Bearer realm=\"payroll\"");
+                sendError(exchange, 401, "Missing, invalid or expired session token");
+                return;
+            }
+            route(exchange, user);
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (IOException e) {
+            // Client went away; nothing to answer.
+        } catch (RuntimeException e) {
+            System.err.println("Error handling " + exchange.getRequestMethod() + " "
+                    + exchange.getRequestURI().getPath() + ": " + e);
+            sendError(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange, User user) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+        boolean admin = "admin".equals(user.getRole());
+
+        switch (path[0]) {
+            case "logout":
+                if (path.length == 1 && "POST".equals(method)) {
+                    sessions.invalidate(bearerToken(exchange));
+                    exchange.sendResponseHeaders(204, -1);
+                    return;
+                }
+                break;
+            case "me":
+                if (path.length == 1 && "GET".equals(method)) {
+                    getEmployee(exchange, user.getEmployeeId());
+                    return;
+                }
+                break;
+            case "designations":
+                if (path.length == 1 && "GET".equals(method)) {
+                    if (requireAdmin(exchange, admin)) {
+                        listDesignations(exchange);
+                    }
+                    return;
+                }
+                break;
+            case "employees":
+                if (path.length == 1) {
+                    if ("GET".equals(method)) {
+                        if (requireAdmin(exchange, admin)) {
+                            listEmployees(exchange);
+                        }
+                        return;
+                    }
+                    if ("POST".equals(method)) {
+                        if (requireAdmin(exchange, admin)) {
+                            addEmployee(exchange);
+                        }
+                        return;
+                    }
+                } else if (path.length == 2) {
+                    int empId = parseId(path[1]);
+                    if ("GET".equals(method)) {
+                        if (admin || empId == user.getEmployeeId()) {
+                            getEmployee(exchange, empId);
+                        } else {
+                            sendError(exchange, 403, "Employees can only view their own record");
+                        }
+                        return;
+                    }
+                    if ("PUT".equals(method)) {
+                        if (requireAdmin(exchange, admin)) {
+                            updateEmployee(exchange, empId);
+                        }
+                        return;
+                    }
+                    if ("DELETE".equals(method)) {
+                        if (requireAdmin(exchange, admin)) {
+                            deleteEmployee(exchange, empId);
+                        }
+                        return;
+                    }
+                }
+                break;
+            default:
+                sendError(exchange, 404, "Not found");
+                return;
+        }
+        sendError(exchange, 405, "Method not allowed");
+    }
+
+    private void getEmployee(HttpExchange exchange, int empId) throws IOException {
+        Employee emp = dao.getEmployeeById(empId);
+        if (emp == null) {
+            sendError(exchange, 404, "Employee not found");
+            return;
+        }
+        send(exchange, 200, appendEmployee(new StringBuilder(256), emp).toString());
+    }
+
+    /**
+     * Writes the employee list as a JSON array. The unfiltered list is read one report page
+     * at a time and sent with chunked encoding, so it starts arriving at once and the server
+     * never holds the whole table in memory.
+     */
+    private void listEmployees(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        String name = query.get("name");
+        String designation = query.get("designation");
+        long minSalary = parseAmount(query.get("minSalary"), -1);
+        long maxSalary = parseAmount(query.get("maxSalary"), -1);
+
+        if (name != null) {
+            List<EmployeeSummary> summaries = dao.getEmployeeSummariesByName(name);
+            StringBuilder json = new StringBuilder(64 + summaries.size() * 96).append('[');
+            for (int i = 0; i < summaries.size(); i++) {
+                EmployeeSummary s = summaries.get(i);
+                json.append(i == 0 ? "" : ",").append("{\"empId\":").append(s.getEmpId()).append(",\"name\":");
+                Json.appendString(json, s.getName()).append(",\"designation\":");
+                Json.appendString(json, s.getDesignation()).append(",\"netSalary\":");
+                NumberFormatter.appendMoney(json, s.getNetSalary()).append('}');
+            }
+            send(exchange, 200, json.append(']').toString());
+            return;
+        }
+        if (designation != null || minSalary >= 0 || maxSalary >= 0) {
+            List<Employee> employees = dao.getFilteredEmployees(designation, minSalary, maxSalary);
+            StringBuilder json = new StringBuilder(64 + employees.size() * 256).append('[');
+            for (int i = 0; i < employees.size(); i++) {
+                appendEmployee(json.append(i == 0 ? "" : ","), employees.get(i));
+            }
+            send(exchange, 200, json.append(']').toString());
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        exchange.sendResponseHeaders(200, 0);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), 1 << 16)) {
+            StringBuilder json = new StringBuilder(EmployeeRepository.REPORT_PAGE_SIZE * 256);
+            json.append('[');
+            boolean first = true;
+            List<Employee> page = dao.getReportPage(EmployeeRepository.REPORT_PAGE_SIZE);
+            while (!page.isEmpty()) {
+                for (Employee emp : page) {
+                    appendEmployee(json.append(first ? "" : ","), emp);
+                    first = false;
+                }
+                out.append(json);
+                out.flush();
+                json.setLength(0);
+                if (page.size() < EmployeeRepository.REPORT_PAGE_SIZE) {
+                    break;
+                }
+                Employee last = page.get(page.size() - 1);
+                page = dao.getReportPage(last.getNetSalary(), last.getEmpId(), EmployeeRepository.REPORT_PAGE_SIZE);
+            }
+            out.write(']');
+        }
+    }
+
+    private void addEmployee(HttpExchange exchange) throws IOException {
+        Employee emp = readEmployee(exchange);
+        dao.addEmployee(emp);
+        if (emp.getEmpId() == 0) {
+            sendError(exchange, 500, "Employee could not be added");
+            return;
+        }
+        send(exchange, 201, appendEmployee(new StringBuilder(256), emp).toString());
+    }
+
+    private void updateEmployee(HttpExchange exchange, int empId) throws IOException {
+        Employee emp = readEmployee(exchange);
+        if (dao.getEmployeeById(empId) == null) {
+            sendError(exchange, 404, "Employee not found");
+            return;
+        }
+        dao.updateEmployee(empId, emp);
+        emp.setEmpId(empId);
+        send(exchange, 200, appendEmployee(new StringBuilder(256), emp).toString());
+    }
+
+    private void deleteEmployee(HttpExchange exchange, int empId) throws IOException {
+        if (dao.deleteEmployee(empId)) {
+            exchange.sendResponseHeaders(204, -1);
+        } else {
+            sendError(exchange, 404, "Employee not found");
+        }
+    }
+
+    private void listDesignations(HttpExchange exchange) throws IOException {
+        List<DesignationSummary> summaries = dao.getDesignationSummaries();
+        StringBuilder json = new StringBuilder(64 + summaries.size() * 256).append('[');
+        for (int i = 0; i < summaries.size(); i++) {
+            DesignationSummary s = summaries.get(i);
+            json.append(i == 0 ? "" : ",").append("{\"designation\":");
+            Json.appendString(json, s.getDesignation()).append(",\"headcount\":").append(s.getHeadcount());
+            appendAmount(json, "totalBasicSalary", s.getTotalBasicSalary());
+            appendAmount(json, "totalHra", s.getTotalHra());
+            appendAmount(json, "totalDa", s.getTotalDa());
+            appendAmount(json, "totalDeductions", s.getTotalDeductions());
+            appendAmount(json, "totalBonus", s.getTotalBonus());
+            appendAmount(json, "totalTax", s.getTotalTax());
+            appendAmount(json, "totalNetSalary", s.getTotalNetSalary());
+            appendAmount(json, "averageNetSalary", s.getAverageNetSalary());
+            json.append('}');
+        }
+        send(exchange, 200, json.append(']').toString());
+    }
+
+    /**
+     * Checks a username and password and starts a session.
+     * This is the only request that pays for password hashing.
+     */
+    private void login(HttpExchange exchange) throws IOException {
+        Map<String, Object> body = readJson(exchange);
+        Object username = body.get("username");
+        Object password = body.get("password");
+        if (!(username instanceof String) || !(password instanceof String)) {
+            throw new IllegalArgumentException("'username' and 'password' are required");
+        }
+        User user = userDao.login((String) username, (String) password);
+        if (user == null) {
+            sendError(exchange, 401, "Invalid username or password");
+            return;
+        }
+        StringBuilder json = new StringBuilder("{\"token\":");
+        Json.appendString(json, sessions.createSession(user)).append(",\"role\":");
+        Json.appendString(json, user.getRole()).append(",\"employeeId\":").append(user.getEmployeeId()).append('}');
+        send(exchange, 200, json.toString());
+    }
+
+    /**
+     * @return The token of an "Authorization: Bearer" header, or null.
+     */
+    private static String bearerToken(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return null;
+        }
+        return header.substring(7).trim();
+    }
+
+    private boolean requireAdmin(HttpExchange exchange, boolean admin) throws IOException {
+        if (!admin) {
+            sendError(exchange, 403, "Admin role required");
+        }
+        return admin;
+    }
+
+    /**
+     * Reads and validates an employee from the request body, with the same rules as the
+     * console: name and designation are required and amounts cannot be negative.
+     */
+    private static Employee readEmployee(HttpExchange exchange) throws IOException {
+        Map<String, Object> body = readJson(exchange);
+        Employee emp = new Employee(requireText(body, "name"), requireText(body, "designation"),
+                requireAmount(body, "basicSalary", true), requireAmount(body, "hra", true),
+                requireAmount(body, "da", true), requireAmount(body, "deductions", true));
+        emp.setBonus(requireAmount(body, "bonus", false));
+        emp.setTax(requireAmount(body, "tax", false));
+        emp.calculateNetSalary();
+        return emp;
+    }
+
+    private static Map<String, Object> readJson(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return Json.parseObject(new String(in.readNBytes(64 * 1024), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String requireText(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        if (!(value instanceof String) || ((String) value).isBlank()) {
+            throw new IllegalArgumentException("'" + field + "' is required");
+        }
+        String text = ((String) value).trim();
+        if (text.length() > 50) {
+            throw new IllegalArgumentException("'" + field + "' cannot be longer than 50 characters");
+        }
+        return text;
+    }
+
+    /**
+     * Reads an amount in major units (e.g. 1234.5) and returns it in minor units.
+     * Amounts with more than two decimals are rejected rather than rounded.
+     */
+    private static long requireAmount(Map<String, Object> body, String field, boolean required) {
+        Object value = body.get(field);
+        if (value == null && !required) {
+            return 0;
+        }
+        if (!(value instanceof Double) || !Double.isFinite((Double) value)) {
+            throw new IllegalArgumentException("'" + field + "' must be a number");
+        }
+        double amount = (Double) value;
+        if (amount < 0) {
+            throw new IllegalArgumentException("'" + field + "' cannot be negative");
+        }
+        if (amount > MAX_AMOUNT) {
+            throw new IllegalArgumentException("'" + field + "' is too large");
+        }
+        long minor = Money.fromDouble(amount);
+        if (Money.toDouble(minor) != amount) {
+            throw new IllegalArgumentException("'" + field + "' cannot have more than two decimals");
+        }
+        return minor;
+    }
+
+    private static int parseId(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid employee ID: " + text);
+        }
+    }
+
+    private static long parseAmount(String text, long defaultValue) {
+        if (text == null || text.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Money.parse(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount: " + text);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(name, value);
+        }
+        return params;
+    }
+
+    private static StringBuilder appendEmployee(StringBuilder json, Employee emp) {
+        json.append("{\"empId\":").append(emp.getEmpId()).append(",\"name\":");
+        Json.appendString(json, emp.getName()).append(",\"designation\":");
+        Json.appendString(json, emp.getDesignation());
+        appendAmount(json, "basicSalary", emp.getBasicSalary());
+        appendAmount(json, "hra", emp.getHra());
+        appendAmount(json, "da", emp.getDa());
+        appendAmount(json, "deductions", emp.getDeductions());
+        appendAmount(json, "bonus", emp.getBonus());
+        appendAmount(json, "tax", emp.getTax());
+        appendAmount(json, "netSalary", emp.getNetSalary());
+        return json.append('}');
+    }
+
+    private static void appendAmount(StringBuilder json, String field, long amount) {
+        json.append(",\"").append(field).append("\":");
+        NumberFormatter.appendMoney(json, amount);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        send(exchange, status, Json.appendString(json, message).append('}').toString());
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
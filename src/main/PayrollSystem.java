@@ -1,9 +1,15 @@
 package main;
 
-import dao.EmployeeDAO;
-import dao.UserDAO;
+import dao.EmployeeRepository;
+import dao.RepositoryFactory;
+import dao.UserRepository;
+import model.DesignationSummary;
 import model.Employee;
+import model.EmployeeSummary;
 import model.User;
+import util.Money;
+import util.OperationMetrics;
+import util.SchemaMigrator;
 
 import java.util.List;
 import java.util.Scanner;
@@ -20,7 +26,10 @@ public class PayrollSystem {
      * 5. Generate Report (Console) - Generates and displays a report of all employees on the console.
      * 6. Export Report to CSV - Exports the employee report into 'EmployeeReport.csv' file.
      * 7. Search Employee by ID or Name - Allows admin to search for employee(s) by Employee ID or Name.
-     * 8. Exit - Exit the payroll application.
+     * 8. Designation Summary - Displays headcount and payroll totals per designation.
+     * 9. Operation Metrics - Displays call counts, errors and latency percentiles of the data access operations.
+     * 10. Top / Bottom Earners Report - Lists the highest or lowest paid employees, optionally of one designation.
+     * 11. Exit - Exit the payroll application.
      *
      * For Employee role:
      * 1. View My Details - Displays logged-in employee's own details.
@@ -29,7 +38,11 @@ public class PayrollSystem {
      */
 
     public static void main(String[] args) {
-        UserDAO userDao = new UserDAO();
+        if (!RepositoryFactory.isInMemory()) {
+            SchemaMigrator.migrate();
+        }
+
+        UserRepository userDao = RepositoryFactory.getUserRepository();
         Scanner sc = new Scanner(System.in);
         User loggedInUser = null;
         int attempts = 0;
@@ -58,7 +71,8 @@ public class PayrollSystem {
          * Displays the main menu of the Employee Payroll System.
          * Admin and Employee have different menu options based on role.
          */
-        EmployeeDAO dao = new EmployeeDAO();
+        EmployeeRepository dao = RepositoryFactory.getEmployeeRepository();
+        dao.buildNameIndex();
 
         while (true) {
             System.out.println("\n===============================");
@@ -72,7 +86,10 @@ public class PayrollSystem {
                 System.out.println("5. Generate Report (Console)");
                 System.out.println("6. Export Report to CSV (EmployeeReport.csv)");
                 System.out.println("7. Search Employee by ID or Name");
-                System.out.println("8. Exit");
+                System.out.println("8. Designation Summary");
+                System.out.println("9. Operation Metrics");
+                System.out.println("10. Top / Bottom Earners Report");
+                System.out.println("11. Exit");
             } else if (loggedInUser.getRole().equals("employee")) {
                 System.out.println("1. View My Details");
                 System.out.println("2. Generate My Report");
@@ -109,45 +126,45 @@ public class PayrollSystem {
                             }
 
                             System.out.print("Enter basic salary: ");
-                            double basic = sc.nextDouble();
+                            long basic = Money.parse(sc.next());
                             while (basic < 0) {
                                 System.out.println("Value cannot be negative! Enter again:");
-                                basic = sc.nextDouble();
+                                basic = Money.parse(sc.next());
                             }
 
                             System.out.print("Enter HRA: ");
-                            double hra = sc.nextDouble();
+                            long hra = Money.parse(sc.next());
                             while (hra < 0) {
                                 System.out.println("Value cannot be negative! Enter again:");
-                                hra = sc.nextDouble();
+                                hra = Money.parse(sc.next());
                             }
 
                             System.out.print("Enter DA: ");
-                            double da = sc.nextDouble();
+                            long da = Money.parse(sc.next());
                             while (da < 0) {
                                 System.out.println("Value cannot be negative! Enter again:");
-                                da = sc.nextDouble();
+                                da = Money.parse(sc.next());
                             }
 
                             System.out.print("Enter deductions: ");
-                            double deductions = sc.nextDouble();
+                            long deductions = Money.parse(sc.next());
                             while (deductions < 0) {
                                 System.out.println("Value cannot be negative! Enter again:");
-                                deductions = sc.nextDouble();
+                                deductions = Money.parse(sc.next());
                             }
 
                             System.out.print("Enter Bonus: ");
-                            double bonus = sc.nextDouble();
+                            long bonus = Money.parse(sc.next());
                             while (bonus < 0) {
                                 System.out.println("Bonus cannot be negative! Enter again:");
-                                bonus = sc.nextDouble();
+                                bonus = Money.parse(sc.next());
                             }
 
                             System.out.print("Enter Tax: ");
-                            double tax = sc.nextDouble();
+                            long tax = Money.parse(sc.next());
                             while (tax < 0) {
                                 System.out.println("Tax cannot be negative! Enter again:");
-                                tax = sc.nextDouble();
+                                tax = Money.parse(sc.next());
                             }
 
                             sc.nextLine();
@@ -184,17 +201,17 @@ public class PayrollSystem {
                         if (emp != null) {
                             System.out.printf("\n%-5s %-20s %-15s %-10s %-10s %-10s %-10s %-10s %-10s %-10s\n",
                                     "ID", "Name", "Designation", "Basic", "HRA", "DA", "Deductions", "Bonus", "Tax", "Net Salary");
-                            System.out.printf("%-5d %-20s %-15s %-10.2f %-10.2f %-10.2f %-10.2f %-10.2f %-10.2f %-10.2f\n",
+                            System.out.printf("%-5d %-20s %-15s %-10s %-10s %-10s %-10s %-10s %-10s %-10s\n",
                                     emp.getEmpId(),
                                     emp.getName(),
                                     emp.getDesignation(),
-                                    emp.getBasicSalary(),
-                                    emp.getHra(),
-                                    emp.getDa(),
-                                    emp.getDeductions(),
-                                    emp.getBonus(),
-                                    emp.getTax(),
-                                    emp.getNetSalary());
+                                    Money.format(emp.getBasicSalary()),
+                                    Money.format(emp.getHra()),
+                                    Money.format(emp.getDa()),
+                                    Money.format(emp.getDeductions()),
+                                    Money.format(emp.getBonus()),
+                                    Money.format(emp.getTax()),
+                                    Money.format(emp.getNetSalary()));
 
                             System.out.println("\n[0] Return to Main Menu    [8] Exit Program");
                             System.out.print("Enter your choice: ");
@@ -234,17 +251,17 @@ public class PayrollSystem {
                                     "ID", "Name", "Designation", "Basic", "HRA", "DA", "Deductions", "Bonus", "Tax", "Net Salary");
 
                             for (Employee e : allEmployees) {
-                                System.out.printf("%-5d %-20s %-15s %-10.2f %-10.2f %-10.2f %-10.2f %-10.2f %-10.2f %-10.2f\n",
+                                System.out.printf("%-5d %-20s %-15s %-10s %-10s %-10s %-10s %-10s %-10s %-10s\n",
                                         e.getEmpId(),
                                         e.getName(),
                                         e.getDesignation(),
-                                        e.getBasicSalary(),
-                                        e.getHra(),
-                                        e.getDa(),
-                                        e.getDeductions(),
-                                        e.getBonus(),
-                                        e.getTax(),
-                                        e.getNetSalary()
+                                        Money.format(e.getBasicSalary()),
+                                        Money.format(e.getHra()),
+                                        Money.format(e.getDa()),
+                                        Money.format(e.getDeductions()),
+                                        Money.format(e.getBonus()),
+                                        Money.format(e.getTax()),
+                                        Money.format(e.getNetSalary())
                                 );
                             }
 
@@ -326,45 +343,45 @@ public class PayrollSystem {
                             }
 
                             System.out.print("Enter new basic salary: ");
-                            double newBasic = sc.nextDouble();
+                            long newBasic = Money.parse(sc.next());
                             while (newBasic < 0) {
                                 System.out.println("Value cannot be negative! Enter again:");
-                                newBasic = sc.nextDouble();
+                                newBasic = Money.parse(sc.next());
                             }
 
                             System.out.print("Enter new HRA: ");
-                            double newHra = sc.nextDouble();
+                            long newHra = Money.parse(sc.next());
                             while (newHra < 0) {
                                 System.out.println("Value cannot be negative! Enter again:");
-                                newHra = sc.nextDouble();
+                                newHra = Money.parse(sc.next());
                             }
 
                             System.out.print("Enter new DA: ");
-                            double newDa = sc.nextDouble();
+                            long newDa = Money.parse(sc.next());
                             while (newDa < 0) {
                                 System.out.println("Value cannot be negative! Enter again:");
-                                newDa = sc.nextDouble();
+                                newDa = Money.parse(sc.next());
                             }
 
                             System.out.print("Enter new deductions: ");
-                            double newDeductions = sc.nextDouble();
+                            long newDeductions = Money.parse(sc.next());
                             while (newDeductions < 0) {
                                 System.out.println("Value cannot be negative! Enter again:");
-                                newDeductions = sc.nextDouble();
+                                newDeductions = Money.parse(sc.next());
                             }
 
                             System.out.print("Enter new Bonus: ");
-                            double newBonus = sc.nextDouble();
+                            long newBonus = Money.parse(sc.next());
                             while (newBonus < 0) {
                                 System.out.println("Bonus cannot be negative! Enter again:");
-                                newBonus = sc.nextDouble();
+                                newBonus = Money.parse(sc.next());
                             }
 
                             System.out.print("Enter new Tax: ");
-                            double newTax = sc.nextDouble();
+                            long newTax = Money.parse(sc.next());
                             while (newTax < 0) {
                                 System.out.println("Tax cannot be negative! Enter again:");
-                                newTax = sc.nextDouble();
+                                newTax = Money.parse(sc.next());
                             }
 
                             Employee updatedEmp = new Employee(newName, newDesignation, newBasic, newHra, newDa, newDeductions);
@@ -472,10 +489,10 @@ public class PayrollSystem {
                             String designation = sc.nextLine();
 
                             System.out.print("Enter minimum net salary to filter (enter -1 for no filter): ");
-                            double minSalary = sc.nextDouble();
+                            long minSalary = Money.parse(sc.next());
 
                             System.out.print("Enter maximum net salary to filter (enter -1 for no filter): ");
-                            double maxSalary = sc.nextDouble();
+                            long maxSalary = Money.parse(sc.next());
                             sc.nextLine();
 
 
@@ -495,17 +512,17 @@ public class PayrollSystem {
                                 System.out.println("+-------+----------------------+---------------+------------+------------+------------+------------+------------+------------+------------+");
 
                                 for (Employee e : filteredList) {
-                                    System.out.printf("| %-5d | %-20s | %-13s | %-10.2f | %-10.2f | %-10.2f | %-10.2f | %-10.2f | %-10.2f | %-10.2f |\n",
+                                    System.out.printf("| %-5d | %-20s | %-13s | %-10s | %-10s | %-10s | %-10s | %-10s | %-10s | %-10s |\n",
                                             e.getEmpId(),
                                             e.getName(),
                                             e.getDesignation(),
-                                            e.getBasicSalary(),
-                                            e.getHra(),
-                                            e.getDa(),
-                                            e.getDeductions(),
-                                            e.getBonus(),
-                                            e.getTax(),
-                                            e.getNetSalary());
+                                            Money.format(e.getBasicSalary()),
+                                            Money.format(e.getHra()),
+                                            Money.format(e.getDa()),
+                                            Money.format(e.getDeductions()),
+                                            Money.format(e.getBonus()),
+                                            Money.format(e.getTax()),
+                                            Money.format(e.getNetSalary()));
                                 }
                                 System.out.println("+-------+----------------------+---------------+------------+------------+------------+------------+------------+------------+------------+");
 
@@ -513,26 +530,26 @@ public class PayrollSystem {
                             }
 
 
-                            double total = 0, max = Double.MIN_VALUE, min = Double.MAX_VALUE;
+                            long total = 0, max = Long.MIN_VALUE, min = Long.MAX_VALUE;
                             for(Employee e : filteredList) {
-                                double salary = e.getNetSalary();
+                                long salary = e.getNetSalary();
                                 total += salary;
                                 if(salary > max) max = salary;
                                 if(salary < min) min = salary;
                             }
-                            double avg = filteredList.size() > 0 ? total / filteredList.size() : 0;
+                            long avg = filteredList.size() > 0 ? Money.divide(total, filteredList.size()) : 0;
 
                             System.out.println("\nSummary:");
-                            System.out.println("Total Net Salary: " + total);
-                            System.out.println("Average Net Salary: " + avg);
-                            System.out.println("Highest Net Salary: " + max);
-                            System.out.println("Lowest Net Salary: " + min);
+                            System.out.println("Total Net Salary: " + Money.format(total));
+                            System.out.println("Average Net Salary: " + Money.format(avg));
+                            System.out.println("Highest Net Salary: " + (filteredList.isEmpty() ? "None" : Money.format(max)));
+                            System.out.println("Lowest Net Salary: " + (filteredList.isEmpty() ? "None" : Money.format(min)));
 
 
                             System.out.println("\nReport generated successfully!");
                             System.out.println("Filters Applied: " + (designation.isBlank() ? "None" : designation) +
-                                    ", Min Salary: " + (minSalary >= 0 ? minSalary : "None") +
-                                    ", Max Salary: " + (maxSalary >= 0 ? maxSalary : "None"));
+                                    ", Min Salary: " + (minSalary >= 0 ? Money.format(minSalary) : "None") +
+                                    ", Max Salary: " + (maxSalary >= 0 ? Money.format(maxSalary) : "None"));
                             System.out.println("Total Employees in report: " + filteredList.size());
 
                             System.out.println("\n[0] Return to Main Menu    [8] Exit Program");
@@ -561,11 +578,11 @@ public class PayrollSystem {
                             if(emp != null) {
                                 System.out.printf("\n%-5s %-20s %-15s %-10s %-10s %-10s %-10s %-10s %-10s %-10s\n",
                                         "ID", "Name", "Designation", "Basic", "HRA", "DA", "Deductions", "Bonus", "Tax", "Net Salary");
-                                System.out.printf("%-5d %-20s %-15s %-10.2f %-10.2f %-10.2f %-10.2f %-10.2f %-10.2f %-10.2f\n",
+                                System.out.printf("%-5d %-20s %-15s %-10s %-10s %-10s %-10s %-10s %-10s %-10s\n",
                                         emp.getEmpId(), emp.getName(), emp.getDesignation(),
-                                        emp.getBasicSalary(), emp.getHra(), emp.getDa(),
-                                        emp.getDeductions(), emp.getBonus(), emp.getTax(),
-                                        emp.getNetSalary());
+                                        Money.format(emp.getBasicSalary()), Money.format(emp.getHra()), Money.format(emp.getDa()),
+                                        Money.format(emp.getDeductions()), Money.format(emp.getBonus()), Money.format(emp.getTax()),
+                                        Money.format(emp.getNetSalary()));
 
                                 System.out.println("\nYour report generated successfully!");
 
@@ -601,10 +618,13 @@ public class PayrollSystem {
                 case 6:
                     if (loggedInUser.getRole().equals("admin")) {
                         try {
-                            List<Employee> employees = dao.getAllEmployees();
-                            dao.exportReportToCSV();
-                            System.out.println("\nReport exported successfully to EmployeeReport.csv");
-                            System.out.println("Total employees exported: " + employees.size());
+                            int exported = dao.exportReportToCSV();
+                            if (exported >= 0) {
+                                System.out.println("\nReport exported successfully to EmployeeReport.csv");
+                                System.out.println("Total employees exported: " + exported);
+                            } else {
+                                System.out.println("\nReport export failed!");
+                            }
                             System.out.println("\n[0] Return to Main Menu    [8] Exit Program");
                             System.out.print("Enter your choice: ");
                             int navChoice = sc.nextInt();
@@ -649,11 +669,11 @@ public class PayrollSystem {
                             Employee searchedEmp = dao.getEmployeeById(searchId);
                             if (searchedEmp != null) {
                                 System.out.printf("\n%-5s %-20s %-15s %-10s\n", "ID", "Name", "Designation", "Net Salary");
-                                System.out.printf("%-5d %-20s %-15s %-10.2f\n",
+                                System.out.printf("%-5d %-20s %-15s %-10s\n",
                                         searchedEmp.getEmpId(),
                                         searchedEmp.getName(),
                                         searchedEmp.getDesignation(),
-                                        searchedEmp.getNetSalary());
+                                        Money.format(searchedEmp.getNetSalary()));
                                 System.out.println("\n[0] Return to Main Menu    [8] Exit Program");
                                 System.out.print("Enter your choice: ");
                                 int navChoice = sc.nextInt();
@@ -677,17 +697,17 @@ public class PayrollSystem {
                             System.out.print("Enter Name (partial or full): ");
                             String searchName = sc.nextLine();
 
-                            List<Employee> empList = dao.getEmployeesByName(searchName);
+                            List<EmployeeSummary> empList = dao.getEmployeeSummariesByName(searchName);
                             if (empList.isEmpty()) {
                                 System.out.println("\nNo employees found with this name!");
                             } else {
                                 System.out.printf("\n%-5s %-20s %-15s %-10s\n", "ID", "Name", "Designation", "Net Salary");
-                                for (Employee e : empList) {
-                                    System.out.printf("%-5d %-20s %-15s %-10.2f\n",
+                                for (EmployeeSummary e : empList) {
+                                    System.out.printf("%-5d %-20s %-15s %-10s\n",
                                             e.getEmpId(),
                                             e.getName(),
                                             e.getDesignation(),
-                                            e.getNetSalary());
+                                            Money.format(e.getNetSalary()));
                                 }
                                 System.out.println("\n[0] Return to Main Menu    [8] Exit Program");
                                 System.out.print("Enter your choice: ");
@@ -715,10 +735,153 @@ public class PayrollSystem {
                     break;
 
                 /**
-                 * Case 8 - Exit:
-                 * Exits the payroll system application.
+                 * Case 8 - Designation Summary:
+                 * Displays headcount, salary component totals and net payroll per designation.
+                 * Reads the incrementally maintained summary table, so the cost does not grow with the number of employees.
                  */
                 case 8:
+                    if (loggedInUser.getRole().equals("admin")) {
+                        List<DesignationSummary> summaries = dao.getDesignationSummaries();
+                        if (summaries.isEmpty()) {
+                            System.out.println("\nNo employees found!");
+                        } else {
+                            System.out.printf("\n%-20s %-9s %-14s %-12s %-12s %-12s %-12s %-12s %-14s %-12s\n",
+                                    "Designation", "Employees", "Basic", "HRA", "DA", "Deductions", "Bonus", "Tax", "Net Payroll", "Avg Net");
+                            int totalHeadcount = 0;
+                            long totalNet = 0;
+                            for (DesignationSummary d : summaries) {
+                                System.out.printf("%-20s %-9d %-14s %-12s %-12s %-12s %-12s %-12s %-14s %-12s\n",
+                                        d.getDesignation(),
+                                        d.getHeadcount(),
+                                        Money.format(d.getTotalBasicSalary()),
+                                        Money.format(d.getTotalHra()),
+                                        Money.format(d.getTotalDa()),
+                                        Money.format(d.getTotalDeductions()),
+                                        Money.format(d.getTotalBonus()),
+                                        Money.format(d.getTotalTax()),
+                                        Money.format(d.getTotalNetSalary()),
+                                        Money.format(d.getAverageNetSalary()));
+                                totalHeadcount += d.getHeadcount();
+                                totalNet += d.getTotalNetSalary();
+                            }
+                            System.out.printf("\nTotal employees: %d, Total net payroll: %s\n", totalHeadcount, Money.format(totalNet));
+                        }
+
+                        System.out.println("\n[0] Return to Main Menu    [8] Exit Program");
+                        System.out.print("Enter your choice: ");
+                        int navChoice = sc.nextInt();
+                        sc.nextLine();
+
+                        if (navChoice == 8) {
+                            System.out.println("Exiting program... Goodbye!");
+                            sc.close();
+                            System.exit(0);
+                        } else if (navChoice == 0) {
+
+                        } else {
+                            System.out.println("Invalid choice. Returning to main menu...");
+                        }
+                    } else {
+                        System.out.println("Invalid choice. Try again.");
+                    }
+                    break;
+
+                /**
+                 * Case 9 - Operation Metrics:
+                 * Displays the number of calls, failed calls and latency percentiles of every
+                 * repository operation since start-up, and optionally resets them.
+                 */
+                case 9:
+                    if (loggedInUser.getRole().equals("admin")) {
+                        System.out.println();
+                        System.out.print(OperationMetrics.formatReport());
+
+                        System.out.println("\n[0] Return to Main Menu    [7] Reset Metrics    [8] Exit Program");
+                        System.out.print("Enter your choice: ");
+                        int navChoice = sc.nextInt();
+                        sc.nextLine();
+
+                        if (navChoice == 8) {
+                            System.out.println("Exiting program... Goodbye!");
+                            sc.close();
+                            System.exit(0);
+                        } else if (navChoice == 7) {
+                            OperationMetrics.resetAll();
+                            System.out.println("Metrics reset.");
+                        } else if (navChoice == 0) {
+
+                        } else {
+                            System.out.println("Invalid choice. Returning to main menu...");
+                        }
+                    } else {
+                        System.out.println("Invalid choice. Try again.");
+                    }
+                    break;
+
+                /**
+                 * Case 10 - Top / Bottom Earners Report:
+                 * Displays the highest or lowest paid employees, optionally of one designation.
+                 * Only the requested number of employees is kept, so the roster is never sorted as a whole.
+                 */
+                case 10:
+                    if (loggedInUser.getRole().equals("admin")) {
+                        System.out.print("Show (T)op or (B)ottom earners? ");
+                        boolean highest = !sc.nextLine().trim().equalsIgnoreCase("B");
+                        System.out.print("Number of employees (default 50): ");
+                        String countInput = sc.nextLine().trim();
+                        int count = 50;
+                        if (!countInput.isEmpty()) {
+                            try {
+                                count = Integer.parseInt(countInput);
+                            } catch (NumberFormatException e) {
+                                count = 0;
+                            }
+                        }
+                        if (count < 1) {
+                            System.out.println("Invalid number. Returning to main menu...");
+                            break;
+                        }
+                        System.out.print("Designation (leave blank for all): ");
+                        String designation = sc.nextLine().trim();
+
+                        List<Employee> earners = dao.getTopEarners(designation, count, highest);
+                        System.out.printf("\n=== %s %d Earners%s ===\n", highest ? "Top" : "Bottom", count,
+                                designation.isEmpty() ? "" : " (" + designation + ")");
+                        if (earners.isEmpty()) {
+                            System.out.println("No employees found!");
+                        } else {
+                            System.out.printf("%-5s %-5s %-20s %-15s %-12s\n", "Rank", "ID", "Name", "Designation", "Net Salary");
+                            int rank = 1;
+                            for (Employee e : earners) {
+                                System.out.printf("%-5d %-5d %-20s %-15s %-12s\n",
+                                        rank++, e.getEmpId(), e.getName(), e.getDesignation(), Money.format(e.getNetSalary()));
+                            }
+                        }
+
+                        System.out.println("\n[0] Return to Main Menu    [8] Exit Program");
+                        System.out.print("Enter your choice: ");
+                        int navChoice = sc.nextInt();
+                        sc.nextLine();
+
+                        if (navChoice == 8) {
+                            System.out.println("Exiting program... Goodbye!");
+                            sc.close();
+                            System.exit(0);
+                        } else if (navChoice == 0) {
+
+                        } else {
+                            System.out.println("Invalid choice. Returning to main menu...");
+                        }
+                    } else {
+                        System.out.println("Invalid choice. Try again.");
+                    }
+                    break;
+
+                /**
+                 * Case 11 - Exit:
+                 * Exits the payroll system application.
+                 */
+                case 11:
                     System.out.print("Are you sure you want to exit? (Y/N): ");
                     String exitChoice = sc.nextLine();
                     if(exitChoice.equalsIgnoreCase("Y")) {
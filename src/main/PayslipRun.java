@@ -0,0 +1,38 @@
+package main;
+
+import dao.EmployeeRepository;
+import dao.PayslipJob;
+import dao.RepositoryFactory;
+import util.DBConnection;
+import util.SchemaMigrator;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command-line entry point for the month-end payroll run: writes a payslip file for every
+ * employee to the output directory (default payslips/&lt;period&gt;).
+ *
+ * Usage: java main.PayslipRun &lt;period&gt; [outputDir] [renderers]
+ */
+public class PayslipRun {
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: java main.PayslipRun <period> [outputDir] [renderers]");
+            return;
+        }
+        String period = args[0];
+        Path outputDir = args.length > 1 ? Paths.get(args[1]) : Paths.get("payslips", period);
+        int renderers = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        if (!RepositoryFactory.isInMemory()) {
+            SchemaMigrator.migrate();
+        }
+        EmployeeRepository dao = RepositoryFactory.getEmployeeRepository();
+        long payslips = new PayslipJob(dao, period, outputDir, renderers).run();
+        DBConnection.shutdown();
+        if (payslips < 0) {
+            System.exit(1);
+        }
+    }
+}
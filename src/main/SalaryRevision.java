@@ -0,0 +1,37 @@
+package main;
+
+import dao.SalaryRecomputeJob;
+import util.DBConnection;
+import util.Money;
+import util.SchemaMigrator;
+
+/**
+ * Command-line entry point for a DA revision: sets every employee's DA to a percentage of
+ * their basic salary and recomputes net salary for the whole roster.
+ * Re-running with the same job name resumes an interrupted run.
+ *
+ * Usage: java main.SalaryRevision &lt;jobName&gt; &lt;daPercentOfBasic&gt; [chunkSize] [parallelism]
+ */
+public class SalaryRevision {
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: java main.SalaryRevision <jobName> <daPercentOfBasic> [chunkSize] [parallelism]");
+            return;
+        }
+        String jobName = args[0];
+        // A percentage with two decimals is a whole number of basis points, e.g. 12.5 -> 1250.
+        long daBasisPoints = Money.parse(args[1]);
+        int chunkSize = args.length > 2 ? Integer.parseInt(args[2]) : 5_000;
+        int parallelism = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        SchemaMigrator.migrate();
+        SalaryRecomputeJob job = new SalaryRecomputeJob(jobName,
+                emp -> emp.setDa(Money.percentOf(emp.getBasicSalary(), daBasisPoints)),
+                chunkSize, parallelism);
+        long rows = job.run();
+        DBConnection.shutdown();
+        if (rows < 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package main;
+
+import dao.EmployeeRepository;
+import dao.RepositoryFactory;
+import dao.RosterFile;
+import util.DBConnection;
+import util.SchemaMigrator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command-line entry point that exports the employee table to a binary roster snapshot.
+ * Start the application with "storage.type=snapshot" and "storage.snapshot.file" to run
+ * reports and searches against the file without a database.
+ *
+ * Usage: java main.SnapshotExport [file]   (default roster.snapshot)
+ */
+public class SnapshotExport {
+    public static void main(String[] args) {
+        Path file = Paths.get(args.length > 0 ? args[0] : "roster.snapshot");
+
+        if (!RepositoryFactory.isInMemory()) {
+            SchemaMigrator.migrate();
+        }
+        EmployeeRepository dao = RepositoryFactory.getEmployeeRepository();
+        long start = System.nanoTime();
+        try {
+            int rows = RosterFile.write(dao, file);
+            System.out.printf("Wrote %d employees to %s in %.0f ms%n", rows, file, (System.nanoTime() - start) / 1e6);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error writing roster snapshot: " + e.getMessage());
+            DBConnection.shutdown();
+            System.exit(1);
+        }
+        DBConnection.shutdown();
+    }
+}
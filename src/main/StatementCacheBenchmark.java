@@ -0,0 +1,109 @@
+package main;
+
+import util.AppConfig;
+import util.ConnectionPool;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Microbenchmark for the MySQL prepared statement cache.
+ * Runs the DAOs' most frequent statements the way the DAOs do (borrow a pooled connection,
+ * prepare, execute, close) against two pools: one with the driver's statement cache disabled
+ * and one with it enabled, and prints the average latency per call.
+ *
+ * Usage: java main.StatementCacheBenchmark [iterations] [empId] [username] [password]
+ */
+public class StatementCacheBenchmark {
+    private static final String[] CACHE_PARAMS = {
+            "useServerPrepStmts", "cachePrepStmts", "prepStmtCacheSize", "prepStmtCacheSqlLimit"
+    };
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int empId = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        String username = args.length > 2 ? args[2] : "admin";
+        String password = args.length > 3 ? args[3] : "admin123";
+
+        String url = AppConfig.get("db.url", "jdbc:mysql://localhost:3306/payroll_db");
+        ConnectionPool uncached = createPool(withCacheParams(url, "useServerPrepStmts=false&cachePrepStmts=false"));
+        ConnectionPool cached = createPool(withCacheParams(url,
+                "useServerPrepStmts=true&cachePrepStmts=true&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048"));
+
+        String byId = "SELECT emp_id, name, designation, basic_salary, hra, da, deductions, bonus, tax FROM employee WHERE emp_id=?";
+        String login = "SELECT * FROM users WHERE username = ? AND password = ?";
+
+        System.out.printf("%-20s %14s %14s %9s%n", "Statement", "Uncached us", "Cached us", "Speedup");
+        compare("getEmployeeById", uncached, cached, byId, iterations, empId);
+        compare("login", uncached, cached, login, iterations, username, password);
+
+        uncached.shutdown();
+        cached.shutdown();
+    }
+
+    private static ConnectionPool createPool(String url) {
+        return new ConnectionPool(url, AppConfig.get("db.user", "root"), AppConfig.get("db.password", "Sumeeth@2003"),
+                1, 1, 300_000, 10_000, 2);
+    }
+
+    /**
+     * Replaces any statement cache settings in a JDBC URL with the given ones.
+     */
+    private static String withCacheParams(String url, String cacheParams) {
+        int query = url.indexOf('?');
+        StringBuilder result = new StringBuilder(query < 0 ? url : url.substring(0, query)).append('?');
+        if (query >= 0) {
+            for (String param : url.substring(query + 1).split("&")) {
+                boolean isCacheParam = false;
+                for (String name : CACHE_PARAMS) {
+                    isCacheParam |= param.startsWith(name + "=");
+                }
+                if (!param.isEmpty() && !isCacheParam) {
+                    result.append(param).append('&');
+                }
+            }
+        }
+        return result.append(cacheParams).toString();
+    }
+
+    private static void compare(String name, ConnectionPool uncached, ConnectionPool cached, String sql,
+                                int iterations, Object... params) {
+        try {
+            double before = measure(uncached, sql, iterations, params);
+            double after = measure(cached, sql, iterations, params);
+            System.out.printf("%-20s %14.1f %14.1f %8.2fx%n", name, before, after, before / after);
+        } catch (SQLException e) {
+            System.err.println("Error benchmarking " + name + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return Average microseconds per call.
+     */
+    private static double measure(ConnectionPool pool, String sql, int iterations, Object... params) throws SQLException {
+        for (int i = 0; i < iterations / 10; i++) {
+            execute(pool, sql, params);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            execute(pool, sql, params);
+        }
+        return (System.nanoTime() - start) / 1000.0 / iterations;
+    }
+
+    private static void execute(ConnectionPool pool, String sql, Object... params) throws SQLException {
+        try (Connection con = pool.getConnection();
+             PreparedStatement stmt = con.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rs.getString(2);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package model;
+
+import util.Money;
+
+/**
+ * Payroll totals for one designation: headcount and the sum of each salary component,
+ * in minor units (see {@link util.Money}).
+ */
+public class DesignationSummary {
+    private final String designation;
+    private final int headcount;
+    private final long totalBasicSalary;
+    private final long totalHra;
+    private final long totalDa;
+    private final long totalDeductions;
+    private final long totalBonus;
+    private final long totalTax;
+    private final long totalNetSalary;
+
+    /**
+     * Constructs a DesignationSummary with given data.
+     */
+    public DesignationSummary(String designation, int headcount, long totalBasicSalary, long totalHra,
+                              long totalDa, long totalDeductions, long totalBonus, long totalTax,
+                              long totalNetSalary) {
+        this.designation = designation;
+        this.headcount = headcount;
+        this.totalBasicSalary = totalBasicSalary;
+        this.totalHra = totalHra;
+        this.totalDa = totalDa;
+        this.totalDeductions = totalDeductions;
+        this.totalBonus = totalBonus;
+        this.totalTax = totalTax;
+        this.totalNetSalary = totalNetSalary;
+    }
+
+    // Getters
+    public String getDesignation() {
+        return designation;
+    }
+
+    public int getHeadcount() {
+        return headcount;
+    }
+
+    public long getTotalBasicSalary() {
+        return totalBasicSalary;
+    }
+
+    public long getTotalHra() {
+        return totalHra;
+    }
+
+    public long getTotalDa() {
+        return totalDa;
+    }
+
+    public long getTotalDeductions() {
+        return totalDeductions;
+    }
+
+    public long getTotalBonus() {
+        return totalBonus;
+    }
+
+    public long getTotalTax() {
+        return totalTax;
+    }
+
+    public long getTotalNetSalary() {
+        return totalNetSalary;
+    }
+
+    /**
+     * @return Average net salary in minor units, rounded HALF_UP, or 0 when there are no employees.
+     */
+    public long getAverageNetSalary() {
+        return headcount == 0 ? 0 : Money.divide(totalNetSalary, headcount);
+    }
+}
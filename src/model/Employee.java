@@ -2,23 +2,25 @@ package model;
 
 /**
  * Employee model class representing an employee in the system.
+ * All salary amounts are long minor units (paise/cents, see {@link util.Money}), so net
+ * salary and any totals are exact integer arithmetic.
  */
 public class Employee {
     private int empId;
     private String name;
     private String designation;
-    private double basicSalary;
-    private double hra;
-    private double da;
-    private double deductions;
-    private double bonus;
-    private double tax;
-    private double netSalary;
+    private long basicSalary;
+    private long hra;
+    private long da;
+    private long deductions;
+    private long bonus;
+    private long tax;
+    private long netSalary;
 
     /**
      * Constructor used when reading Employee data from the database.
      */
-    public Employee(int empId, String name, String designation, double basicSalary, double hra, double da, double deductions) {
+    public Employee(int empId, String name, String designation, long basicSalary, long hra, long da, long deductions) {
         this.empId = empId;
         this.name = name;
         this.designation = designation;
@@ -32,7 +34,7 @@ public class Employee {
     /**
      * Constructor used when adding a new Employee.
      */
-    public Employee(String name, String designation, double basicSalary, double hra, double da, double deductions) {
+    public Employee(String name, String designation, long basicSalary, long hra, long da, long deductions) {
         this.name = name;
         this.designation = designation;
         this.basicSalary = basicSalary;
@@ -68,55 +70,55 @@ public class Employee {
         this.designation = designation;
     }
 
-    public double getBasicSalary() {
+    public long getBasicSalary() {
         return basicSalary;
     }
 
-    public void setBasicSalary(double basicSalary) {
+    public void setBasicSalary(long basicSalary) {
         this.basicSalary = basicSalary;
     }
 
-    public double getHra() {
+    public long getHra() {
         return hra;
     }
 
-    public void setHra(double hra) {
+    public void setHra(long hra) {
         this.hra = hra;
     }
 
-    public double getDa() {
+    public long getDa() {
         return da;
     }
 
-    public void setDa(double da) {
+    public void setDa(long da) {
         this.da = da;
     }
 
-    public double getDeductions() {
+    public long getDeductions() {
         return deductions;
     }
 
-    public void setDeductions(double deductions) {
+    public void setDeductions(long deductions) {
         this.deductions = deductions;
     }
 
-    public double getBonus() {
+    public long getBonus() {
         return bonus;
     }
 
-    public void setBonus(double bonus) {
+    public void setBonus(long bonus) {
         this.bonus = bonus;
     }
 
-    public double getTax() {
+    public long getTax() {
         return tax;
     }
 
-    public void setTax(double tax) {
+    public void setTax(long tax) {
         this.tax = tax;
     }
 
-    public double getNetSalary() {
+    public long getNetSalary() {
         return netSalary;
     }
 
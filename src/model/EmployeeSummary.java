@@ -0,0 +1,45 @@
+package model;
+
+/**
+ * Lightweight, read-only view of an employee used by list and search screens.
+ * Holds only the columns those screens display, so listings can be loaded without
+ * reading every salary component.
+ */
+public class EmployeeSummary {
+    private final int empId;
+    private final String name;
+    private final String designation;
+    private final long netSalary;
+
+    /**
+     * Constructs an EmployeeSummary with given data.
+     *
+     * @param empId       Employee ID.
+     * @param name        Employee name.
+     * @param designation Employee designation.
+     * @param netSalary   Net salary in minor units, as stored in the database.
+     */
+    public EmployeeSummary(int empId, String name, String designation, long netSalary) {
+        this.empId = empId;
+        this.name = name;
+        this.designation = designation;
+        this.netSalary = netSalary;
+    }
+
+    // Getters
+    public int getEmpId() {
+        return empId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDesignation() {
+        return designation;
+    }
+
+    public long getNetSalary() {
+        return netSalary;
+    }
+}
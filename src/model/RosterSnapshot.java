@@ -0,0 +1,299 @@
+package model;
+
+import util.Money;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable, column-oriented copy of the employee table for payroll analytics.
+ * Each salary component is stored in its own primitive array of minor units (see
+ * {@link util.Money}), so totals are exact, and designations are
+ * dictionary-encoded, so aggregations are tight loops over contiguous memory instead of
+ * walks over Employee objects.
+ *
+ * The kernels are plain counted loops over primitive arrays, the shape the JIT compiler
+ * unrolls and vectorizes; sums use several independent accumulators so additions are not
+ * serialized on a single register.
+ */
+public class RosterSnapshot {
+    /**
+     * Salary columns available for aggregation.
+     */
+    public enum Column {
+        BASIC_SALARY, HRA, DA, DEDUCTIONS, BONUS, TAX, NET_SALARY
+    }
+
+    private final int size;
+    private final int[] empIds;
+    private final int[] designationCodes;
+    private final String[] designations;
+    private final long[][] columns;
+
+    private RosterSnapshot(int size, int[] empIds, int[] designationCodes, String[] designations, long[][] columns) {
+        this.size = size;
+        this.empIds = empIds;
+        this.designationCodes = designationCodes;
+        this.designations = designations;
+        this.columns = columns;
+    }
+
+    /** @return Number of employees in the snapshot. */
+    public int size() {
+        return size;
+    }
+
+    /** @return Employee ID at the given row. */
+    public int getEmpId(int row) {
+        return empIds[row];
+    }
+
+    /** @return Designation at the given row. */
+    public String getDesignation(int row) {
+        return designations[designationCodes[row]];
+    }
+
+    /** @return Value of a salary column at the given row, in minor units. */
+    public long get(Column column, int row) {
+        return columns[column.ordinal()][row];
+    }
+
+    /** @return The distinct designations, indexed by their dictionary code. */
+    public String[] getDesignations() {
+        return designations.clone();
+    }
+
+    /**
+     * Returns the total of a column.
+     *
+     * @param column The salary column.
+     * @return Exact sum over all employees, in minor units.
+     */
+    public long sum(Column column) {
+        long[] values = columns[column.ordinal()];
+        long s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (int limit = size - 3; i < limit; i += 4) {
+            s0 += values[i];
+            s1 += values[i + 1];
+            s2 += values[i + 2];
+            s3 += values[i + 3];
+        }
+        for (; i < size; i++) {
+            s0 += values[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Returns the smallest value of a column.
+     *
+     * @param column The salary column.
+     * @return Minimum over all employees, or 0 if the snapshot is empty.
+     */
+    public long min(Column column) {
+        if (size == 0) {
+            return 0;
+        }
+        long[] values = columns[column.ordinal()];
+        long min = values[0];
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the largest value of a column.
+     *
+     * @param column The salary column.
+     * @return Maximum over all employees, or 0 if the snapshot is empty.
+     */
+    public long max(Column column) {
+        if (size == 0) {
+            return 0;
+        }
+        long[] values = columns[column.ordinal()];
+        long max = values[0];
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the average value of a column.
+     *
+     * @param column The salary column.
+     * @return Average over all employees in minor units, rounded HALF_UP, or 0 if the snapshot is empty.
+     */
+    public long average(Column column) {
+        return size == 0 ? 0 : Money.divide(sum(column), size);
+    }
+
+    /**
+     * Counts employees per designation.
+     *
+     * @return Headcount keyed by designation, in dictionary order.
+     */
+    public Map<String, Integer> countByDesignation() {
+        int[] counts = new int[designations.length];
+        for (int i = 0; i < size; i++) {
+            counts[designationCodes[i]]++;
+        }
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int code = 0; code < designations.length; code++) {
+            result.put(designations[code], counts[code]);
+        }
+        return result;
+    }
+
+    /**
+     * Totals a column per designation.
+     *
+     * @param column The salary column.
+     * @return Exact sum in minor units keyed by designation, in dictionary order.
+     */
+    public Map<String, Long> sumByDesignation(Column column) {
+        long[] values = columns[column.ordinal()];
+        long[] sums = new long[designations.length];
+        for (int i = 0; i < size; i++) {
+            sums[designationCodes[i]] += values[i];
+        }
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int code = 0; code < designations.length; code++) {
+            result.put(designations[code], sums[code]);
+        }
+        return result;
+    }
+
+    /**
+     * Collects rows into column arrays. Not thread-safe.
+     */
+    public static class Builder {
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private String[] designations = new String[16];
+        private int[] empIds;
+        private int[] designationCodes;
+        private final long[][] columns = new long[Column.values().length][];
+        private int size;
+
+        /**
+         * Creates a builder.
+         *
+         * @param expectedSize Initial capacity; arrays grow as needed.
+         */
+        public Builder(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            empIds = new int[capacity];
+            designationCodes = new int[capacity];
+            for (int c = 0; c < columns.length; c++) {
+                columns[c] = new long[capacity];
+            }
+        }
+
+        /**
+         * Appends one employee. Net salary is derived from the components the same way as
+         * {@link Employee#calculateNetSalary()}.
+         */
+        public Builder add(int empId, String designation, long basicSalary, long hra, long da,
+                           long deductions, long bonus, long tax) {
+            if (size == empIds.length) {
+                grow();
+            }
+            empIds[size] = empId;
+            designationCodes[size] = encode(designation);
+            columns[Column.BASIC_SALARY.ordinal()][size] = basicSalary;
+            columns[Column.HRA.ordinal()][size] = hra;
+            columns[Column.DA.ordinal()][size] = da;
+            columns[Column.DEDUCTIONS.ordinal()][size] = deductions;
+            columns[Column.BONUS.ordinal()][size] = bonus;
+            columns[Column.TAX.ordinal()][size] = tax;
+            columns[Column.NET_SALARY.ordinal()][size] = (basicSalary + hra + da + bonus) - (deductions + tax);
+            size++;
+            return this;
+        }
+
+        /**
+         * Appends a block of rows given column by column, for example as decoded from a columnar
+         * export file. Each distinct designation is looked up once per block instead of once per row.
+         *
+         * @param count            Number of rows to append.
+         * @param empIds           Employee IDs.
+         * @param dictionary       Designations referenced by designationCodes.
+         * @param designationCodes Index into dictionary of the designation of each row.
+         * @param components       Six arrays of amounts in minor units, in Column order from BASIC_SALARY to TAX.
+         * @return This builder.
+         */
+        public Builder addColumns(int count, int[] empIds, String[] dictionary, int[] designationCodes, long[]... components) {
+            if (components.length != Column.NET_SALARY.ordinal()) {
+                throw new IllegalArgumentException("Expected " + Column.NET_SALARY.ordinal() + " salary columns");
+            }
+            while (this.empIds.length < size + count) {
+                grow();
+            }
+            int[] codes = new int[dictionary.length];
+            Arrays.fill(codes, -1);
+            System.arraycopy(empIds, 0, this.empIds, size, count);
+            for (int i = 0; i < count; i++) {
+                int code = codes[designationCodes[i]];
+                if (code < 0) {
+                    code = encode(dictionary[designationCodes[i]]);
+                    codes[designationCodes[i]] = code;
+                }
+                this.designationCodes[size + i] = code;
+            }
+            for (int c = 0; c < components.length; c++) {
+                System.arraycopy(components[c], 0, columns[c], size, count);
+            }
+            long[] net = columns[Column.NET_SALARY.ordinal()];
+            long[] basic = components[Column.BASIC_SALARY.ordinal()];
+            long[] hra = components[Column.HRA.ordinal()];
+            long[] da = components[Column.DA.ordinal()];
+            long[] deductions = components[Column.DEDUCTIONS.ordinal()];
+            long[] bonus = components[Column.BONUS.ordinal()];
+            long[] tax = components[Column.TAX.ordinal()];
+            for (int i = 0; i < count; i++) {
+                net[size + i] = (basic[i] + hra[i] + da[i] + bonus[i]) - (deductions[i] + tax[i]);
+            }
+            size += count;
+            return this;
+        }
+
+        /**
+         * Creates the snapshot. The builder must not be used afterwards.
+         */
+        public RosterSnapshot build() {
+            long[][] trimmed = new long[columns.length][];
+            for (int c = 0; c < columns.length; c++) {
+                trimmed[c] = Arrays.copyOf(columns[c], size);
+            }
+            return new RosterSnapshot(size, Arrays.copyOf(empIds, size), Arrays.copyOf(designationCodes, size),
+                    Arrays.copyOf(designations, dictionary.size()), trimmed);
+        }
+
+        private int encode(String designation) {
+            Integer code = dictionary.get(designation);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.put(designation, code);
+                if (code == designations.length) {
+                    designations = Arrays.copyOf(designations, code * 2);
+                }
+                designations[code] = designation;
+            }
+            return code;
+        }
+
+        private void grow() {
+            int capacity = empIds.length * 2;
+            empIds = Arrays.copyOf(empIds, capacity);
+            designationCodes = Arrays.copyOf(designationCodes, capacity);
+            for (int c = 0; c < columns.length; c++) {
+                columns[c] = Arrays.copyOf(columns[c], capacity);
+            }
+        }
+    }
+}
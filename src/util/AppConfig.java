@@ -0,0 +1,104 @@
+package util;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Utility class to read application settings.
+ * Values are looked up in JVM system properties first (-Dkey=value), then in a
+ * "payroll.properties" file in the working directory or on the classpath.
+ */
+public class AppConfig {
+    private static final String CONFIG_FILE = "payroll.properties";
+    private static final Properties properties = load();
+
+    private AppConfig() {
+    }
+
+    /**
+     * Returns the value of a setting.
+     *
+     * @param key          The setting name.
+     * @param defaultValue Value returned when the setting is not present.
+     * @return The configured value, or the default.
+     */
+    public static String get(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = properties.getProperty(key);
+        }
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    /**
+     * Returns the value of an integer setting.
+     *
+     * @param key          The setting name.
+     * @param defaultValue Value returned when the setting is missing or invalid.
+     * @return The configured value, or the default.
+     */
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Returns the value of a long setting.
+     *
+     * @param key          The setting name.
+     * @param defaultValue Value returned when the setting is missing or invalid.
+     * @return The configured value, or the default.
+     */
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Returns the value of a boolean setting.
+     *
+     * @param key          The setting name.
+     * @param defaultValue Value returned when the setting is missing.
+     * @return The configured value, or the default.
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key, null);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+    }
+
+    private static Properties load() {
+        Properties props = new Properties();
+        Path file = Paths.get(CONFIG_FILE);
+        try (InputStream in = Files.exists(file)
+                ? new FileInputStream(file.toFile())
+                : AppConfig.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+            if (in != null) {
+                props.load(in);
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading " + CONFIG_FILE + ": " + e.getMessage());
+        }
+        return props;
+    }
+}
@@ -0,0 +1,381 @@
+package util;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * A bounded JDBC connection pool exposed as a {@link DataSource}.
+ * Connections handed out are wrappers whose close() returns the physical connection to the pool.
+ * Idle connections are validated on borrow and evicted after the idle timeout,
+ * while at least minIdle connections are kept open.
+ */
+public class ConnectionPool implements DataSource {
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minIdle;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long acquireTimeoutMillis;
+    private final int validationTimeoutSeconds;
+
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final ScheduledExecutorService evictor;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicLong acquireCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool and opens minIdle connections up front.
+     *
+     * @param url                      JDBC URL of the database.
+     * @param user                     Database user.
+     * @param password                 Database password.
+     * @param minIdle                  Number of idle connections kept open.
+     * @param maxSize                  Maximum number of open connections.
+     * @param idleTimeoutMillis        Time after which an unused connection above minIdle is closed.
+     * @param acquireTimeoutMillis     Maximum time to wait for a free connection.
+     * @param validationTimeoutSeconds Timeout passed to Connection.isValid() on borrow.
+     */
+    public ConnectionPool(String url, String user, String password, int minIdle, int maxSize,
+                          long idleTimeoutMillis, long acquireTimeoutMillis, int validationTimeoutSeconds) {
+        if (maxSize < 1 || minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minIdle + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+
+        fillToMinIdle();
+    }
+
+    /**
+     * Borrows a connection from the pool, waiting up to the acquire timeout.
+     * The caller must close the returned connection to give it back.
+     *
+     * @return A pooled Connection.
+     * @throws SQLException If no connection becomes available in time or a new one cannot be opened.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLTransientConnectionException("Timed out after " + acquireTimeoutMillis
+                        + " ms waiting for a database connection (active=" + active.get() + ", max=" + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    break;
+                }
+                discard(pooled);
+            }
+            if (pooled == null) {
+                pooled = open();
+            }
+            active.incrementAndGet();
+            return pooled.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections use the configured credentials");
+    }
+
+    /** @return Number of connections currently borrowed. */
+    public int getActiveConnections() {
+        return active.get();
+    }
+
+    /** @return Number of open connections waiting in the pool. */
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    /** @return Number of open physical connections. */
+    public int getTotalConnections() {
+        return total.get();
+    }
+
+    /** @return Number of threads currently waiting for a connection. */
+    public int getPendingThreads() {
+        return permits.getQueueLength();
+    }
+
+    /** @return Number of successful borrows since startup. */
+    public long getAcquireCount() {
+        return acquireCount.get();
+    }
+
+    /** @return Average time spent waiting for a connection, in milliseconds. */
+    public double getAverageWaitMillis() {
+        long count = acquireCount.get();
+        return count == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / count;
+    }
+
+    /** @return Longest time spent waiting for a connection, in milliseconds. */
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    /** @return Number of borrows that failed because the acquire timeout expired. */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /** @return Maximum number of open connections. */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns a one-line summary of the pool state, useful for sizing under load.
+     */
+    public String getStats() {
+        return String.format("active=%d, idle=%d, total=%d, max=%d, waiting=%d, acquired=%d, avgWait=%.3f ms, maxWait=%.3f ms, timeouts=%d",
+                getActiveConnections(), getIdleConnections(), getTotalConnections(), maxSize, getPendingThreads(),
+                getAcquireCount(), getAverageWaitMillis(), getMaxWaitMillis(), getTimeoutCount());
+    }
+
+    /**
+     * Closes all idle connections and stops the eviction thread.
+     * Borrowed connections are closed when they are returned.
+     */
+    public void shutdown() {
+        closed = true;
+        evictor.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        acquireCount.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        total.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        try {
+            return pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        total.decrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Called when a borrowed connection is closed by its user.
+     */
+    private void release(PooledConnection pooled) {
+        active.decrementAndGet();
+        try {
+            Connection physical = pooled.physical;
+            if (closed || physical.isClosed()) {
+                discard(pooled);
+                return;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (physical.isReadOnly()) {
+                physical.setReadOnly(false);
+            }
+            physical.clearWarnings();
+            pooled.lastUsed = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } catch (SQLException e) {
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext() && idle.size() > minIdle) {
+            PooledConnection pooled = it.next();
+            if (pooled.lastUsed < cutoff && idle.remove(pooled)) {
+                discard(pooled);
+            }
+        }
+        fillToMinIdle();
+    }
+
+    private void fillToMinIdle() {
+        while (!closed && total.get() < maxSize && idle.size() < minIdle && permits.tryAcquire()) {
+            try {
+                idle.offerLast(open());
+            } catch (SQLException e) {
+                System.err.println("Error opening pooled connection: " + e.getMessage());
+                return;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    /**
+     * A physical connection owned by the pool.
+     */
+    private class PooledConnection {
+        private final Connection physical;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        /**
+         * Wraps the physical connection in a proxy that returns it to the pool on close().
+         */
+        Connection lease() {
+            InvocationHandler handler = new InvocationHandler() {
+                private boolean returned;
+
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!returned) {
+                                returned = true;
+                                release(PooledConnection.this);
+                            }
+                            return null;
+                        case "isClosed":
+                            return returned || physical.isClosed();
+                        case "unwrap":
+                            if (((Class<?>) args[0]).isInstance(physical)) {
+                                return physical;
+                            }
+                            break;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Pooled[" + physical + "]";
+                        default:
+                            break;
+                    }
+                    if (returned) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            };
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, handler);
+        }
+    }
+}
@@ -1,31 +1,140 @@
 package util;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 
 /**
- * Utility class to establish a database connection.
- * Provides a static method to get a reusable connection object.
+ * Utility class to obtain database connections.
+ * Connections are borrowed from a shared {@link ConnectionPool}; callers must close
+ * them (preferably with try-with-resources) to return them to the pool.
+ *
+ * Pool settings are read through {@link AppConfig}:
+ * db.url, db.user, db.password, db.pool.minIdle, db.pool.maxSize,
+ * db.pool.idleTimeoutMs, db.pool.acquireTimeoutMs and db.pool.validationTimeoutSec.
+ * Tracing settings (db.trace.*) are described in {@link JdbcTracer}.
  */
 public class DBConnection {
-    private static Connection connection;
+    /**
+     * Default JDBC URL.
+     * rewriteBatchedStatements lets the MySQL driver send JDBC batches as multi-row statements
+     * instead of one round trip per row.
+     * useServerPrepStmts and cachePrepStmts make the driver keep each connection's prepared
+     * statements parsed on the server and reuse them on the next prepareStatement() with the same
+     * SQL. Because the pool reuses physical connections, the DAOs' statements are parsed once per
+     * connection rather than once per call.
+     */
+    private static final String DEFAULT_URL = "jdbc:mysql://localhost:3306/payroll_db?rewriteBatchedStatements=true"
+            + "&useServerPrepStmts=true&cachePrepStmts=true&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048";
 
     /**
-     * Returns a database connection.
-     * If connection does not exist, creates one using JDBC.
+     * Fetch size used for streaming reads. Integer.MIN_VALUE makes MySQL Connector/J stream
+     * rows one at a time instead of buffering the whole result; other drivers may need a
+     * positive value (set "db.streamFetchSize").
+     */
+    private static final int STREAM_FETCH_SIZE = AppConfig.getInt("db.streamFetchSize", Integer.MIN_VALUE);
+
+    private static volatile ConnectionPool pool;
+
+    /**
+     * Borrows a database connection from the pool.
+     * The pool is created on first use. With "db.trace.enabled=true" the connection is
+     * wrapped by {@link JdbcTracer}, which logs slow statements and N+1 query patterns.
      *
      * @return Connection object for database interactions.
+     * @throws SQLException If no connection could be obtained.
+     */
+    public static Connection getConnection() throws SQLException {
+        Connection con = getPool().getConnection();
+        return JdbcTracer.isEnabled() ? JdbcTracer.wrap(con) : con;
+    }
+
+    /**
+     * Prepares a forward-only, read-only statement whose result set is streamed from the
+     * server rather than loaded into memory, so large tables can be read with constant heap use.
+     * While such a result set is open, the connection cannot run other statements.
+     *
+     * @param con The connection to prepare the statement on.
+     * @param sql The SELECT statement.
+     * @return The prepared streaming statement.
+     * @throws SQLException If the statement cannot be prepared.
      */
-    public static Connection getConnection() {
-        try {
-            if (connection == null) {
-                connection = DriverManager.getConnection(
-                        "jdbc:mysql://localhost:3306/payroll_db", "root", "Sumeeth@2003");
+    public static PreparedStatement prepareStreamingStatement(Connection con, String sql) throws SQLException {
+        PreparedStatement stmt = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        stmt.setFetchSize(STREAM_FETCH_SIZE);
+        return stmt;
+    }
+
+    /**
+     * Returns a select-list expression that reads a DECIMAL money column as a BIGINT of minor
+     * units (see {@link Money}), so it can be fetched with ResultSet.getLong() instead of as a
+     * BigDecimal or an inexact double.
+     *
+     * @param column Column name or expression with two decimals.
+     * @return The SQL expression.
+     */
+    public static String minorUnits(String column) {
+        return "CAST(" + column + " * " + Money.MINOR_PER_MAJOR + " AS SIGNED)";
+    }
+
+    /**
+     * Returns the pooled DataSource backing {@link #getConnection()}.
+     */
+    public static DataSource getDataSource() {
+        return getPool();
+    }
+
+    /**
+     * Returns the shared connection pool, creating it if necessary.
+     * Exposes active/idle counts and wait times for monitoring.
+     */
+    public static ConnectionPool getPool() {
+        ConnectionPool p = pool;
+        if (p == null) {
+            synchronized (DBConnection.class) {
+                p = pool;
+                if (p == null) {
+                    String url = AppConfig.get("db.url", DEFAULT_URL);
+                    if (url.startsWith("jdbc:mysql:") && !isStatementCacheEnabled(url)) {
+                        System.err.println("Warning: prepared statement cache is disabled; add "
+                                + "useServerPrepStmts=true&cachePrepStmts=true to db.url");
+                    }
+                    p = new ConnectionPool(
+                            url,
+                            AppConfig.get("db.user", "root"),
+                            AppConfig.get("db.password", "Sumeeth@2003"),
+                            AppConfig.getInt("db.pool.minIdle", 2),
+                            AppConfig.getInt("db.pool.maxSize", 10),
+                            AppConfig.getLong("db.pool.idleTimeoutMs", 300_000),
+                            AppConfig.getLong("db.pool.acquireTimeoutMs", 10_000),
+                            AppConfig.getInt("db.pool.validationTimeoutSec", 2));
+                    pool = p;
+                }
             }
-        } catch (Exception e) {
-            e.printStackTrace();
         }
-        return connection;
+        return p;
     }
-}
 
+    /**
+     * Checks whether a MySQL JDBC URL enables the driver's prepared statement cache.
+     *
+     * @param url JDBC URL.
+     * @return True if both server-side prepared statements and statement caching are on.
+     */
+    public static boolean isStatementCacheEnabled(String url) {
+        String lower = url.toLowerCase();
+        return lower.contains("cacheprepstmts=true") && lower.contains("useserverprepstmts=true");
+    }
+
+    /**
+     * Closes the pool and all idle connections.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+}
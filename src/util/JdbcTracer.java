@@ -0,0 +1,365 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Optional JDBC tracing, switched on with "db.trace.enabled=true".
+ *
+ * {@link DBConnection#getConnection()} then wraps each connection in a proxy that also wraps the
+ * statements and result sets it creates. For every statement the tracer measures the time spent
+ * executing it and fetching its rows, and counts bound parameters, batched rows and fetched or
+ * updated rows. Statements that take at least "db.trace.slowQueryMs" (default 100, 0 logs
+ * everything) are written to "db.trace.slowQueryLog" (default slow-query.log) by a background
+ * {@link SlowQueryLog}, so tracing adds no disk I/O to the query path.
+ *
+ * It also reports N+1 query patterns: when one thread runs the same single-row query
+ * "db.trace.nPlusOneThreshold" times in a row (default 10), each within
+ * "db.trace.nPlusOneWindowMs" of the previous one (default 1000), the log gets an N+1 entry
+ * with the calling code, e.g. a loop calling getEmployeeById() for a list of IDs.
+ */
+public final class JdbcTracer {
+    private static final boolean ENABLED = AppConfig.getBoolean("db.trace.enabled", false);
+    private static final long SLOW_QUERY_NANOS = AppConfig.getLong("db.trace.slowQueryMs", 100) * 1_000_000;
+    private static final String LOG_FILE = AppConfig.get("db.trace.slowQueryLog", "slow-query.log");
+    private static final int N_PLUS_ONE_THRESHOLD = Math.max(2, AppConfig.getInt("db.trace.nPlusOneThreshold", 10));
+    private static final long N_PLUS_ONE_WINDOW_NANOS = AppConfig.getLong("db.trace.nPlusOneWindowMs", 1_000) * 1_000_000;
+    private static final ThreadLocal<RepeatTracker> REPEATS = ThreadLocal.withInitial(RepeatTracker::new);
+
+    private static volatile SlowQueryLog log;
+
+    private JdbcTracer() {
+    }
+
+    /**
+     * @return True if "db.trace.enabled" is set.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Wraps a connection so that the statements it creates are traced.
+     *
+     * @param con The connection to trace.
+     * @return A traced view of the connection; closing it closes the original.
+     */
+    public static Connection wrap(Connection con) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(con));
+    }
+
+    /**
+     * Logs a statement if it was slow and feeds single-row queries to the N+1 detection.
+     *
+     * @param sql       SQL text.
+     * @param binds     Number of parameters bound, over all batched rows.
+     * @param batchSize Number of batched rows, 0 if not batched.
+     * @param rows      Rows fetched (queries) or updated (updates), -1 if unknown.
+     * @param nanos     Time spent in the driver.
+     * @param query     True for queries, whose fetched row count is known.
+     */
+    private static void record(String sql, int binds, int batchSize, long rows, long nanos, boolean query) {
+        if (query) {
+            checkRepeats(sql, rows);
+        }
+        if (nanos < SLOW_QUERY_NANOS) {
+            return;
+        }
+        StringBuilder line = new StringBuilder(160 + sql.length());
+        line.append(LocalDateTime.now()).append(" SLOW ")
+                .append(String.format(Locale.ROOT, "%.3f", nanos / 1e6)).append(" ms")
+                .append(" rows=").append(rows)
+                .append(" binds=").append(binds);
+        if (batchSize > 0) {
+            line.append(" batch=").append(batchSize);
+        }
+        line.append(" thread=").append(Thread.currentThread().getName())
+                .append(" sql=").append(singleLine(sql));
+        log().append(line.toString());
+    }
+
+    /**
+     * Counts consecutive runs of the same single-row query on the current thread and reports
+     * the run once when it reaches the threshold. Queries returning more rows end the run,
+     * so paging through a large result with one repeated statement is not reported.
+     */
+    private static void checkRepeats(String sql, long rows) {
+        RepeatTracker tracker = REPEATS.get();
+        long now = System.nanoTime();
+        if (rows > 1) {
+            tracker.sql = null;
+            return;
+        }
+        if (sql.equals(tracker.sql) && now - tracker.lastNanos <= N_PLUS_ONE_WINDOW_NANOS) {
+            tracker.count++;
+        } else {
+            tracker.sql = sql;
+            tracker.count = 1;
+            tracker.firstNanos = now;
+            tracker.reported = false;
+        }
+        tracker.lastNanos = now;
+        if (!tracker.reported && tracker.count >= N_PLUS_ONE_THRESHOLD) {
+            tracker.reported = true;
+            log().append(LocalDateTime.now() + " N+1 " + tracker.count + " executions in "
+                    + String.format(Locale.ROOT, "%.3f", (now - tracker.firstNanos) / 1e6) + " ms"
+                    + " thread=" + Thread.currentThread().getName()
+                    + " caller=" + describeCaller()
+                    + " sql=" + singleLine(sql));
+        }
+    }
+
+    /**
+     * @return The code that ran the query and the nearest caller outside the data access layer,
+     * which is usually the loop to replace with one batch query.
+     */
+    private static String describeCaller() {
+        List<StackWalker.StackFrame> frames = StackWalker.getInstance().walk(stream -> stream
+                .filter(frame -> !isInfrastructure(frame.getClassName()))
+                .collect(Collectors.toList()));
+        if (frames.isEmpty()) {
+            return "(unknown)";
+        }
+        String caller = frames.stream()
+                .filter(frame -> !frame.getClassName().startsWith("dao."))
+                .findFirst()
+                .map(JdbcTracer::describe)
+                .orElse("(unknown)");
+        return caller + " (query at " + describe(frames.get(0)) + ")";
+    }
+
+    private static String describe(StackWalker.StackFrame frame) {
+        return frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+    }
+
+    private static boolean isInfrastructure(String className) {
+        return className.startsWith("util.") || className.startsWith("java.") || className.startsWith("jdk.")
+                || className.startsWith("sun.") || className.startsWith("com.sun.") || className.contains("$Proxy");
+    }
+
+    private static String singleLine(String sql) {
+        return sql.replaceAll("\\s+", " ").trim();
+    }
+
+    private static SlowQueryLog log() {
+        SlowQueryLog l = log;
+        if (l == null) {
+            synchronized (JdbcTracer.class) {
+                l = log;
+                if (l == null) {
+                    l = new SlowQueryLog(LOG_FILE);
+                    log = l;
+                }
+            }
+        }
+        return l;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** Per-thread state of the N+1 detection. */
+    private static class RepeatTracker {
+        private String sql;
+        private int count;
+        private long firstNanos;
+        private long lastNanos;
+        private boolean reported;
+    }
+
+    /**
+     * Wraps the statements created by a connection; other calls go straight through.
+     */
+    private static class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = JdbcTracer.invoke(target, method, args);
+            switch (method.getName()) {
+                case "prepareStatement":
+                case "prepareCall":
+                case "createStatement":
+                    String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                    Class<?> type = method.getReturnType();
+                    return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                            new StatementHandler((Statement) result, sql));
+                default:
+                    return result;
+            }
+        }
+    }
+
+    /**
+     * Times executions of a statement and counts its bound parameters and batched rows.
+     * Query results are wrapped so that fetching time and row count are included.
+     */
+    private static class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private int binds;
+        private int batchSize;
+        private ResultSetHandler openResult;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "executeQuery": {
+                    String sql = sqlOf(args);
+                    finishOpenResult();
+                    long start = System.nanoTime();
+                    ResultSet rs = (ResultSet) JdbcTracer.invoke(target, method, args);
+                    openResult = new ResultSetHandler(rs, sql, binds, System.nanoTime() - start);
+                    binds = 0;
+                    return Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                            new Class<?>[]{ResultSet.class}, openResult);
+                }
+                case "execute":
+                case "executeUpdate":
+                case "executeLargeUpdate": {
+                    String sql = sqlOf(args);
+                    long start = System.nanoTime();
+                    Object result = JdbcTracer.invoke(target, method, args);
+                    long rows = result instanceof Number ? ((Number) result).longValue()
+                            : Boolean.FALSE.equals(result) ? target.getUpdateCount() : -1;
+                    record(sql, binds, 0, rows, System.nanoTime() - start, false);
+                    binds = 0;
+                    return result;
+                }
+                case "executeBatch":
+                case "executeLargeBatch": {
+                    String sql = preparedSql != null ? preparedSql : "(batch of " + batchSize + " statements)";
+                    long start = System.nanoTime();
+                    Object result = JdbcTracer.invoke(target, method, args);
+                    record(sql, binds, batchSize, sumUpdateCounts(result), System.nanoTime() - start, false);
+                    binds = 0;
+                    batchSize = 0;
+                    return result;
+                }
+                case "addBatch":
+                    batchSize++;
+                    break;
+                case "clearBatch":
+                    batchSize = 0;
+                    binds = 0;
+                    break;
+                case "clearParameters":
+                    binds = 0;
+                    break;
+                case "close":
+                    finishOpenResult();
+                    break;
+                default:
+                    if (name.startsWith("set") && method.getDeclaringClass() != Statement.class
+                            && PreparedStatement.class.isAssignableFrom(method.getDeclaringClass())) {
+                        binds++;
+                    }
+            }
+            return JdbcTracer.invoke(target, method, args);
+        }
+
+        private String sqlOf(Object[] args) {
+            if (args != null && args.length > 0 && args[0] instanceof String) {
+                return (String) args[0];
+            }
+            return preparedSql != null ? preparedSql : "(unknown)";
+        }
+
+        private void finishOpenResult() {
+            if (openResult != null) {
+                openResult.finish();
+                openResult = null;
+            }
+        }
+
+        private static long sumUpdateCounts(Object counts) {
+            long rows = 0;
+            if (counts instanceof int[]) {
+                for (int count : (int[]) counts) {
+                    rows += Math.max(count, 0);
+                }
+            } else if (counts instanceof long[]) {
+                for (long count : (long[]) counts) {
+                    rows += Math.max(count, 0);
+                }
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Counts fetched rows and the time spent in next(). The query is recorded when the last
+     * row has been read or the result set (or its statement) is closed, whichever comes first.
+     */
+    private static class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final String sql;
+        private final int binds;
+        private long nanos;
+        private long rows;
+        private boolean finished;
+
+        ResultSetHandler(ResultSet target, String sql, int binds, long executeNanos) {
+            this.target = target;
+            this.sql = sql;
+            this.binds = binds;
+            this.nanos = executeNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next": {
+                    long start = System.nanoTime();
+                    Object hasRow = JdbcTracer.invoke(target, method, args);
+                    nanos += System.nanoTime() - start;
+                    if ((Boolean) hasRow) {
+                        rows++;
+                    } else {
+                        finish();
+                    }
+                    return hasRow;
+                }
+                case "close":
+                    finish();
+                    break;
+                default:
+                    break;
+            }
+            return JdbcTracer.invoke(target, method, args);
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                record(sql, binds, 0, rows, nanos, true);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Exact money arithmetic on amounts held as long minor units (paise or cents), so that
+ * 1234.50 is stored as 123450. Sums and differences are plain long arithmetic: exact, without
+ * the rounding drift of double and without the allocation of BigDecimal.
+ *
+ * Conversions to and from text, double and BigDecimal happen only at the edges (user input,
+ * JSON, JDBC parameters); rounding is HALF_UP throughout, like the former "%.2f" output.
+ */
+public final class Money {
+    /** Number of decimal places of an amount. */
+    public static final int SCALE = 2;
+
+    /** Minor units in one major unit. */
+    public static final long MINOR_PER_MAJOR = 100;
+
+    private Money() {
+    }
+
+    /**
+     * @param major Whole amount, e.g. 30000.
+     * @return The amount in minor units, e.g. 3000000.
+     * @throws ArithmeticException If the result does not fit in a long.
+     */
+    public static long ofMajor(long major) {
+        return Math.multiplyExact(major, MINOR_PER_MAJOR);
+    }
+
+    /**
+     * Parses a decimal amount such as "1234", "1234.5" or "-0.05" exactly, without allocating.
+     *
+     * @param text The amount, with an optional sign and at most two decimals.
+     * @return The amount in minor units.
+     * @throws NumberFormatException If the text is not such an amount or is out of range.
+     */
+    public static long parse(String text) {
+        String s = text.trim();
+        int i = 0;
+        boolean negative = false;
+        if (i < s.length() && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            negative = s.charAt(i) == '-';
+            i++;
+        }
+        long value = 0;
+        int digits = 0;
+        int decimals = -1;
+        for (; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '.' && decimals < 0) {
+                decimals = 0;
+                continue;
+            }
+            if (c < '0' || c > '9' || decimals == SCALE) {
+                throw new NumberFormatException("Not an amount with at most " + SCALE + " decimals: " + text);
+            }
+            value = value * 10 + (c - '0');
+            if (value > Long.MAX_VALUE / 100) {
+                throw new NumberFormatException("Amount out of range: " + text);
+            }
+            digits++;
+            if (decimals >= 0) {
+                decimals++;
+            }
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("Not an amount: " + text);
+        }
+        for (int d = Math.max(decimals, 0); d < SCALE; d++) {
+            value *= 10;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Converts a double amount, rounding HALF_UP on its shortest decimal representation,
+     * so 0.285 becomes 29 minor units rather than the 28 that 0.285 * 100 would give.
+     *
+     * @param amount The amount, e.g. from JSON.
+     * @return The amount in minor units.
+     * @throws ArithmeticException If the amount is not finite or out of range.
+     */
+    public static long fromDouble(double amount) {
+        if (!Double.isFinite(amount)) {
+            throw new ArithmeticException("Not a finite amount: " + amount);
+        }
+        return BigDecimal.valueOf(amount).setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * @return The amount as a BigDecimal with two decimals, e.g. for binding DECIMAL parameters.
+     */
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /**
+     * @return The amount as a double, for display or statistics only.
+     */
+    public static double toDouble(long minor) {
+        return minor / (double) MINOR_PER_MAJOR;
+    }
+
+    /**
+     * @return The amount with exactly two decimals, e.g. "1234.50".
+     * @see NumberFormatter#appendMoney(StringBuilder, long)
+     */
+    public static String format(long minor) {
+        return NumberFormatter.appendMoney(new StringBuilder(24), minor).toString();
+    }
+
+    /**
+     * Divides an amount, rounding HALF_UP (halves away from zero), e.g. for averages.
+     *
+     * @param minor   The amount in minor units.
+     * @param divisor A positive divisor.
+     * @return The rounded quotient in minor units.
+     */
+    public static long divide(long minor, long divisor) {
+        if (divisor <= 0) {
+            throw new ArithmeticException("Divisor must be positive: " + divisor);
+        }
+        long quotient = minor / divisor;
+        long remainder = Math.abs(minor % divisor);
+        if (remainder >= divisor - remainder) {
+            quotient += minor < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    /**
+     * Calculates a percentage of an amount, rounding HALF_UP to whole minor units.
+     *
+     * @param minor       The amount in minor units.
+     * @param basisPoints The percentage in hundredths of a percent, e.g. 1250 for 12.5%.
+     * @return The percentage of the amount in minor units.
+     * @throws ArithmeticException If the intermediate product does not fit in a long.
+     */
+    public static long percentOf(long minor, long basisPoints) {
+        return divide(Math.multiplyExact(minor, basisPoints), 10_000);
+    }
+}
@@ -0,0 +1,34 @@
+package util;
+
+/**
+ * Utility class for allocation-free number formatting into a StringBuilder.
+ * Used on hot paths such as report export, where String.format would create
+ * several objects per value.
+ */
+public class NumberFormatter {
+    private NumberFormatter() {
+    }
+
+    /**
+     * Appends a money amount held in minor units (see {@link Money}) with exactly two
+     * decimals, e.g. 123405 as "1234.05" and -5 as "-0.05".
+     *
+     * @param sb    The builder to append to.
+     * @param minor The amount in minor units.
+     * @return The same builder.
+     */
+    public static StringBuilder appendMoney(StringBuilder sb, long minor) {
+        long major = minor / Money.MINOR_PER_MAJOR;
+        int fraction = (int) (minor % Money.MINOR_PER_MAJOR);
+        if (minor < 0) {
+            sb.append('-');
+            major = -major;
+            fraction = -fraction;
+        }
+        sb.append(major).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction);
+    }
+}
@@ -0,0 +1,181 @@
+package util;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-operation call statistics for the repositories.
+ *
+ * {@link #instrument(Class, Object)} wraps an implementation in a dynamic proxy that times every
+ * interface call and records it in the {@link OperationStats} of that method. The DAOs report
+ * errors on System.err and return a null/false/-1 result instead of throwing, so they also call
+ * {@link #markFailed()} in their catch blocks; such calls count as errors like thrown exceptions.
+ *
+ * Each operation is registered as an MBean named "payroll:type=&lt;interface&gt;,name=&lt;method&gt;"
+ * unless "metrics.jmx" is false, and {@link #formatReport()} renders all of them as a table.
+ */
+public final class OperationMetrics {
+    private static final String JMX_DOMAIN = "payroll";
+    private static final boolean JMX_ENABLED = AppConfig.getBoolean("metrics.jmx", true);
+    private static final Map<String, OperationStats> STATS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<boolean[]> FAILED = ThreadLocal.withInitial(() -> new boolean[1]);
+
+    private OperationMetrics() {
+    }
+
+    /**
+     * Wraps an implementation so every call through the interface is timed.
+     * Calls the implementation makes on itself are not counted separately.
+     *
+     * @param type   The interface to instrument; its simple name becomes the component name.
+     * @param target The implementation.
+     * @return A proxy implementing the interface.
+     */
+    public static <T> T instrument(Class<T> type, T target) {
+        String component = type.getSimpleName();
+        Map<Method, OperationStats> byMethod = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            byMethod.put(method, getStats(component, method.getName()));
+        }
+        InvocationHandler handler = new TimingHandler(target, byMethod);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Marks the operation running on this thread as failed. Called where a DAO handles an
+     * exception itself instead of letting it propagate.
+     */
+    public static void markFailed() {
+        FAILED.get()[0] = true;
+    }
+
+    /**
+     * Returns the statistics of an operation, creating and registering them on first use.
+     *
+     * @param component Component name, e.g. "EmployeeRepository".
+     * @param operation Operation name, e.g. "getFilteredEmployees".
+     */
+    public static OperationStats getStats(String component, String operation) {
+        return STATS.computeIfAbsent(component + "." + operation, key -> {
+            OperationStats stats = new OperationStats(component, operation);
+            register(stats);
+            return stats;
+        });
+    }
+
+    /**
+     * @return Statistics of all operations, ordered by component and operation name.
+     */
+    public static List<OperationStats> getAllStats() {
+        List<OperationStats> all = new ArrayList<>(STATS.values());
+        all.sort(Comparator.comparing(OperationStats::getComponent).thenComparing(OperationStats::getOperation));
+        return all;
+    }
+
+    /**
+     * Renders the operations that have been called as a table with latencies in milliseconds.
+     *
+     * @return The table, or a note that nothing has been recorded yet.
+     */
+    public static String formatReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-45s %10s %8s %10s %10s %10s %10s %10s%n",
+                "Operation", "Calls", "Errors", "Mean ms", "p50 ms", "p99 ms", "p99.9 ms", "Max ms"));
+        int rows = 0;
+        for (OperationStats stats : getAllStats()) {
+            LatencyHistogram latency = stats.getLatency();
+            long count = latency.getCount();
+            if (count == 0) {
+                continue;
+            }
+            sb.append(String.format("%-45s %10d %8d %10.3f %10.3f %10.3f %10.3f %10.3f%n",
+                    stats.getComponent() + "." + stats.getOperation(),
+                    count,
+                    stats.getErrorCount(),
+                    latency.getMeanNanos() / 1e6,
+                    latency.getPercentileNanos(50) / 1e6,
+                    latency.getPercentileNanos(99) / 1e6,
+                    latency.getPercentileNanos(99.9) / 1e6,
+                    latency.getMaxNanos() / 1e6));
+            rows++;
+        }
+        return rows == 0 ? "No operations recorded yet." + System.lineSeparator() : sb.toString();
+    }
+
+    /**
+     * Clears the statistics of all operations.
+     */
+    public static void resetAll() {
+        for (OperationStats stats : STATS.values()) {
+            stats.reset();
+        }
+    }
+
+    private static void register(OperationStats stats) {
+        if (!JMX_ENABLED) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(JMX_DOMAIN + ":type=" + stats.getComponent()
+                    + ",name=" + stats.getOperation());
+            if (!server.isRegistered(name)) {
+                server.registerMBean(stats, name);
+            }
+        } catch (JMException e) {
+            System.err.println("Error registering metrics MBean: " + e.getMessage());
+        }
+    }
+
+    private static class TimingHandler implements InvocationHandler {
+        private final Object target;
+        private final Map<Method, OperationStats> byMethod;
+
+        TimingHandler(Object target, Map<Method, OperationStats> byMethod) {
+            this.target = target;
+            this.byMethod = byMethod;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            OperationStats stats = byMethod.get(method);
+            if (stats == null) {
+                // toString, equals and hashCode
+                return invokeTarget(method, args);
+            }
+            boolean[] failed = FAILED.get();
+            boolean outerFailed = failed[0];
+            failed[0] = false;
+            long start = System.nanoTime();
+            boolean threw = true;
+            try {
+                Object result = invokeTarget(method, args);
+                threw = false;
+                return result;
+            } finally {
+                stats.record(System.nanoTime() - start, threw || failed[0]);
+                failed[0] = outerFailed;
+            }
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
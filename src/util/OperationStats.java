@@ -0,0 +1,89 @@
+package util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, error count and latency histogram of one operation, e.g.
+ * EmployeeRepository.getFilteredEmployees. Updated by {@link OperationMetrics} and
+ * published over JMX as an {@link OperationStatsMBean}.
+ */
+public class OperationStats implements OperationStatsMBean {
+    private final String component;
+    private final String operation;
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    OperationStats(String component, String operation) {
+        this.component = component;
+        this.operation = operation;
+    }
+
+    /**
+     * Records one completed call.
+     *
+     * @param nanos  Call duration in nanoseconds.
+     * @param failed True if the call threw or reported a failure.
+     */
+    public void record(long nanos, boolean failed) {
+        latency.record(nanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /** @return Name of the instrumented interface, e.g. "EmployeeRepository". */
+    public String getComponent() {
+        return component;
+    }
+
+    /** @return Method name; overloads share one entry. */
+    public String getOperation() {
+        return operation;
+    }
+
+    /** @return The underlying histogram, in nanoseconds. */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return latency.getMeanNanos() / 1_000;
+    }
+
+    @Override
+    public long getP50Micros() {
+        return latency.getPercentileNanos(50) / 1_000;
+    }
+
+    @Override
+    public long getP99Micros() {
+        return latency.getPercentileNanos(99) / 1_000;
+    }
+
+    @Override
+    public long getP999Micros() {
+        return latency.getPercentileNanos(99.9) / 1_000;
+    }
+
+    @Override
+    public long getMaxMicros() {
+        return latency.getMaxNanos() / 1_000;
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        errors.reset();
+    }
+}
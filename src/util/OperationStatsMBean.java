@@ -0,0 +1,31 @@
+package util;
+
+/**
+ * JMX view of the call statistics of one repository operation.
+ * Latencies are in microseconds and cover all calls since start-up or the last reset.
+ */
+public interface OperationStatsMBean {
+    /** @return Number of completed calls. */
+    long getCount();
+
+    /** @return Number of calls that threw or reported a failure. */
+    long getErrorCount();
+
+    /** @return Mean call latency. */
+    double getMeanMicros();
+
+    /** @return Median call latency. */
+    long getP50Micros();
+
+    /** @return 99th percentile call latency. */
+    long getP99Micros();
+
+    /** @return 99.9th percentile call latency. */
+    long getP999Micros();
+
+    /** @return Slowest call. */
+    long getMaxMicros();
+
+    /** Clears the counters and the latency histogram. */
+    void reset();
+}
@@ -0,0 +1,121 @@
+package util;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Salted, deliberately slow password hashing with PBKDF2-HMAC-SHA256.
+ * Hashes are stored as "pbkdf2$iterations$salt$hash" (salt and hash in Base64), so the cost
+ * can be raised later: {@link #needsRehash(String)} reports hashes made with fewer iterations
+ * than currently configured, and they are re-hashed at the user's next successful login.
+ *
+ * The cost is set with "auth.pbkdf2.iterations" (default 600000, the OWASP recommendation
+ * for PBKDF2-HMAC-SHA256).
+ */
+public final class PasswordHasher {
+    private static final String PREFIX = "pbkdf2$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final int ITERATIONS = Math.max(1, AppConfig.getInt("auth.pbkdf2.iterations", 600_000));
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private PasswordHasher() {
+    }
+
+    /**
+     * Hashes a password with a new random salt and the configured cost.
+     *
+     * @param password The plaintext password.
+     * @return The encoded hash, at most 100 characters long.
+     */
+    public static String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder();
+        return PREFIX + ITERATIONS + "$" + base64.encodeToString(salt) + "$"
+                + base64.encodeToString(pbkdf2(password, salt, ITERATIONS));
+    }
+
+    /**
+     * Checks a password against a stored value, in time independent of where they differ.
+     * Stored values that are not hashes are compared as legacy plaintext passwords.
+     *
+     * @param password The password to check.
+     * @param stored   The stored hash (or legacy plaintext password).
+     * @return True if the password matches.
+     */
+    public static boolean verify(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        if (!isHash(stored)) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int iterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(expected, pbkdf2(password, salt, iterations));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Spends the same time as verifying a password against a real hash. Call it when the user
+     * does not exist, so unknown usernames cannot be told apart by response time.
+     *
+     * @param password The password that was supplied.
+     */
+    public static void verifyAgainstDummy(String password) {
+        verify(password == null ? "" : password, DummyHash.VALUE);
+    }
+
+    /**
+     * @return True if the stored value is a plaintext password or a hash weaker than the configured cost.
+     */
+    public static boolean needsRehash(String stored) {
+        if (!isHash(stored)) {
+            return true;
+        }
+        String[] parts = stored.split("\\$");
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < ITERATIONS;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * @return True if the stored value was produced by {@link #hash(String)}.
+     */
+    public static boolean isHash(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    /** Created on first use, so hashing cost is not paid when the class loads. */
+    private static class DummyHash {
+        private static final String VALUE = hash("dummy-password");
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
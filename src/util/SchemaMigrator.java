@@ -0,0 +1,158 @@
+package util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class that brings the database schema up to date at startup.
+ * Migrations are SQL scripts under db/migration on the classpath, named V&lt;version&gt;__&lt;description&gt;.sql
+ * and listed in {@link #MIGRATIONS}. Applied versions are recorded in the schema_version table,
+ * so each script runs exactly once per database.
+ * Set "db.migrate=false" to skip migrations.
+ */
+public class SchemaMigrator {
+    private static final String MIGRATION_PATH = "db/migration/";
+
+    /**
+     * All migrations in the order they must be applied.
+     */
+    private static final String[] MIGRATIONS = {
+            "V1__baseline.sql",
+            "V2__performance_indexes.sql",
+            "V3__job_checkpoint.sql",
+            "V4__designation_summary.sql",
+            "V5__password_hash.sql",
+            "V6__exact_money.sql",
+            "V7__row_versions.sql",
+    };
+
+    private SchemaMigrator() {
+    }
+
+    /**
+     * Applies every migration that has not been applied yet.
+     * Stops at the first failing migration, since later ones may depend on it.
+     *
+     * @return Number of migrations applied, or -1 if a migration failed.
+     */
+    public static int migrate() {
+        if (!AppConfig.getBoolean("db.migrate", true)) {
+            return 0;
+        }
+        int applied = 0;
+        try (Connection con = DBConnection.getConnection()) {
+            createVersionTable(con);
+            int current = getCurrentVersion(con);
+
+            for (String migration : MIGRATIONS) {
+                int version = versionOf(migration);
+                if (version <= current) {
+                    continue;
+                }
+                try {
+                    apply(con, migration);
+                    recordVersion(con, version, migration);
+                    applied++;
+                    System.out.println("Applied database migration " + migration);
+                } catch (SQLException | IOException e) {
+                    System.err.println("Error applying migration " + migration + ": " + e.getMessage());
+                    return -1;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error checking schema version: " + e.getMessage());
+            return -1;
+        }
+        return applied;
+    }
+
+    /**
+     * Returns the highest migration version applied to the database.
+     *
+     * @param con Connection to the payroll database.
+     * @return The current schema version, or 0 if no migration has run.
+     * @throws SQLException If the version table cannot be read.
+     */
+    public static int getCurrentVersion(Connection con) throws SQLException {
+        try (PreparedStatement stmt = con.prepareStatement("SELECT COALESCE(MAX(version), 0) FROM schema_version");
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void createVersionTable(Connection con) throws SQLException {
+        try (Statement stmt = con.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_version ("
+                    + "version INT PRIMARY KEY, "
+                    + "script VARCHAR(200) NOT NULL, "
+                    + "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        }
+    }
+
+    private static void recordVersion(Connection con, int version, String script) throws SQLException {
+        try (PreparedStatement stmt = con.prepareStatement("INSERT INTO schema_version (version, script) VALUES (?, ?)")) {
+            stmt.setInt(1, version);
+            stmt.setString(2, script);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Runs every statement of a migration script.
+     * MySQL commits DDL implicitly, so a script should keep its statements independent
+     * or idempotent where possible.
+     */
+    private static void apply(Connection con, String migration) throws SQLException, IOException {
+        try (Statement stmt = con.createStatement()) {
+            for (String sql : readStatements(MIGRATION_PATH + migration)) {
+                stmt.execute(sql);
+            }
+        }
+    }
+
+    /**
+     * Reads a script and splits it into statements on semicolons at the end of a line.
+     * Lines starting with "--" are treated as comments.
+     */
+    private static List<String> readStatements(String resource) throws IOException {
+        InputStream in = SchemaMigrator.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IOException("Migration script not found on classpath: " + resource);
+        }
+        List<String> statements = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            StringBuilder current = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                    continue;
+                }
+                current.append(line).append('\n');
+                if (trimmed.endsWith(";")) {
+                    String sql = current.toString().trim();
+                    statements.add(sql.substring(0, sql.length() - 1));
+                    current.setLength(0);
+                }
+            }
+            if (current.toString().trim().length() > 0) {
+                statements.add(current.toString().trim());
+            }
+        }
+        return statements;
+    }
+
+    private static int versionOf(String migration) {
+        return Integer.parseInt(migration.substring(1, migration.indexOf("__")));
+    }
+}
@@ -0,0 +1,118 @@
+package util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends lines to a log file from a background thread, so the threads running queries never
+ * wait for disk I/O. Lines are queued in a bounded buffer; when it is full (the disk cannot keep
+ * up), new lines are dropped and counted rather than blocking the caller.
+ * Lines still queued when the JVM exits are written by a shutdown hook.
+ */
+public class SlowQueryLog {
+    private static final int QUEUE_CAPACITY = 10_000;
+
+    private final Path file;
+    private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    /** Drops already noted in the file; guarded by the write lock. */
+    private long reportedDrops;
+
+    /**
+     * Creates the log and starts its writer thread.
+     *
+     * @param fileName Path of the log file; it is created if missing and appended to otherwise.
+     */
+    public SlowQueryLog(String fileName) {
+        this.file = Paths.get(fileName);
+        this.writer = new Thread(this::writeLoop, "slow-query-log");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "slow-query-log-flush"));
+    }
+
+    /**
+     * Queues a line for writing without waiting.
+     *
+     * @param line The line, without line separator.
+     * @return False if the line was dropped because the queue is full.
+     */
+    public boolean append(String line) {
+        if (queue.offer(line)) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * @return Number of lines dropped because the queue was full.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return Path of the log file.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    private void writeLoop() {
+        List<String> lines = new ArrayList<>();
+        while (true) {
+            try {
+                String first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                lines.add(first);
+                queue.drainTo(lines);
+                write(lines);
+                lines.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private synchronized void drain() {
+        List<String> lines = new ArrayList<>();
+        queue.drainTo(lines);
+        if (!lines.isEmpty()) {
+            write(lines);
+        }
+    }
+
+    private synchronized void write(List<String> lines) {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (String line : lines) {
+                out.write(line);
+                out.newLine();
+            }
+            long drops = dropped.get();
+            if (drops > reportedDrops) {
+                out.write("(" + (drops - reportedDrops) + " entries dropped because the log could not keep up)");
+                out.newLine();
+                reportedDrops = drops;
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing slow query log: " + e.getMessage());
+        }
+    }
+}
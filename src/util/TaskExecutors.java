@@ -0,0 +1,64 @@
+package util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates executors for I/O-bound tasks such as database calls and HTTP requests.
+ * The project targets Java 17, which has no virtual threads, so on a supported runtime every
+ * executor is a fixed pool of daemon platform threads. A task blocked on a pooled connection or
+ * a JDBC call holds one of those threads, so the number of tasks in progress is capped by the
+ * pool size and further tasks wait in the executor's queue until a thread is free.
+ * Only on a JDK 21+ runtime does each task get its own virtual thread; the factory is looked up
+ * reflectively because the code is compiled for 17.
+ */
+public final class TaskExecutors {
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutorFactory();
+
+    private TaskExecutors() {
+    }
+
+    /**
+     * @return True if the running JVM supports virtual threads.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an executor that runs tasks on a fixed pool of platform threads (always the case on
+     * Java 17), or on a new virtual thread per task on a JDK 21+ runtime.
+     *
+     * @param name            Prefix for platform thread names.
+     * @param fallbackThreads Number of platform threads, and so the maximum number of tasks in
+     *                        progress, when virtual threads are not available.
+     * @return The executor; shut it down when no longer needed.
+     */
+    public static ExecutorService newTaskExecutor(String name, int fallbackThreads) {
+        if (NEW_VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                System.err.println("Error creating virtual thread executor: " + e.getMessage());
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, name + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        return Executors.newFixedThreadPool(Math.max(1, fallbackThreads), factory);
+    }
+
+    private static Method findVirtualThreadExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
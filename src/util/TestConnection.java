@@ -1,17 +1,24 @@
 package util;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 
 /**
  * Test class to verify if the database connection is established successfully.
  */
 public class TestConnection {
     public static void main(String[] args) {
-        Connection conn = DBConnection.getConnection();
-        if (conn != null) {
-            System.out.println("Connection successful!");
-        } else {
-            System.out.println("Failed to connect.");
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn.isValid(2)) {
+                System.out.println("Connection successful!");
+            } else {
+                System.out.println("Failed to connect.");
+            }
+            System.out.println("Pool: " + DBConnection.getPool().getStats());
+        } catch (SQLException e) {
+            System.out.println("Failed to connect: " + e.getMessage());
+        } finally {
+            DBConnection.shutdown();
         }
     }
 }
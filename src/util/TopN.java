@@ -0,0 +1,69 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the first n elements of a stream in a given order, using a bounded heap.
+ * The heap holds at most n elements with the last one kept at its head, so each offer costs
+ * O(log n) and selecting the first n of m elements costs O(m log n) time and O(n) memory,
+ * instead of the O(m log m) time and O(m) memory of sorting everything.
+ *
+ * Not thread-safe.
+ *
+ * @param <T> Type of the elements.
+ */
+public class TopN<T> {
+    private final int limit;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * @param limit Number of elements to keep; may be 0.
+     * @param order Order of the result: the elements that sort first are kept.
+     */
+    public TopN(int limit, Comparator<? super T> order) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative: " + limit);
+        }
+        this.limit = limit;
+        this.order = order;
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(limit, 1024)), (a, b) -> order.compare(b, a));
+    }
+
+    /**
+     * Offers an element, which is kept if fewer than limit elements are held or it sorts before
+     * the last one held (which is then dropped).
+     *
+     * @param element The element.
+     * @return True if the element was kept.
+     */
+    public boolean offer(T element) {
+        if (heap.size() < limit) {
+            heap.add(element);
+            return true;
+        }
+        if (limit == 0 || order.compare(element, heap.peek()) >= 0) {
+            return false;
+        }
+        heap.poll();
+        heap.add(element);
+        return true;
+    }
+
+    /** @return Number of elements held. */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * @return The elements held, sorted in the given order.
+     */
+    public List<T> toSortedList() {
+        List<T> sorted = new ArrayList<>(heap);
+        sorted.sort(order);
+        return sorted;
+    }
+}